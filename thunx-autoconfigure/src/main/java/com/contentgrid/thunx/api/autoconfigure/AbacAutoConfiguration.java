@@ -1,15 +1,18 @@
 package com.contentgrid.thunx.api.autoconfigure;
 
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
 import com.contentgrid.thunx.spring.data.context.AbacContextSupplier;
 import com.contentgrid.thunx.spring.data.querydsl.predicate.injector.rest.webmvc.SpringDataQuerydslPredicateInjectorAutoConfiguration;
 import com.contentgrid.thunx.spring.data.rest.AbacConfiguration;
 import com.contentgrid.thunx.spring.data.rest.HttpHeaderAbacConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.boot.autoconfigure.data.rest.RepositoryRestMvcAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
@@ -20,8 +23,15 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 )
 @ConditionalOnClass(RepositoryRestResource.class)
 @ConditionalOnWebApplication(type = Type.SERVLET)
+@EnableConfigurationProperties(AbacProperties.class)
 public class AbacAutoConfiguration {
 
+    @Bean
+    @ConditionalOnMissingBean
+    public ExpressionBudget abacExpressionBudget(AbacProperties abacProperties) {
+        return abacProperties.getBudget().toExpressionBudget();
+    }
+
     @Import(AbacConfiguration.class)
     public static class EnableAbacAutoConfiguration {
     }
@@ -0,0 +1,40 @@
+package com.contentgrid.thunx.api.autoconfigure;
+
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "contentgrid.thunx.abac")
+public class AbacProperties {
+
+    private AbacBudgetProperties budget = new AbacBudgetProperties();
+
+    /**
+     * Limits for the abac context that is decoded from a request; unset limits are not enforced
+     */
+    @Data
+    public static class AbacBudgetProperties {
+        private Integer maxNodes;
+        private Integer maxDepth;
+        private Integer maxReferences;
+        private Integer maxFanOut;
+
+        public ExpressionBudget toExpressionBudget() {
+            var budget = ExpressionBudget.UNLIMITED;
+            if (this.maxNodes != null) {
+                budget = budget.withMaxNodeCount(this.maxNodes);
+            }
+            if (this.maxDepth != null) {
+                budget = budget.withMaxDepth(this.maxDepth);
+            }
+            if (this.maxReferences != null) {
+                budget = budget.withMaxDistinctReferenceCount(this.maxReferences);
+            }
+            if (this.maxFanOut != null) {
+                budget = budget.withMaxFanOut(this.maxFanOut);
+            }
+            return budget;
+        }
+    }
+}
@@ -56,8 +56,8 @@ public class GatewayAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(OpaClient.class)
-    public PolicyDecisionPointClient<Authentication, ServerWebExchange> pdpClient(OpaClient opaClient, OpaQueryProvider<ServerWebExchange> queryProvider, OpaInputProvider<Authentication, ServerWebExchange> inputProvider) {
-        return new OpenPolicyAgentPDPClient<>(opaClient, queryProvider, inputProvider);
+    public PolicyDecisionPointClient<Authentication, ServerWebExchange> pdpClient(OpaClient opaClient, OpaQueryProvider<ServerWebExchange> queryProvider, OpaInputProvider<Authentication, ServerWebExchange> inputProvider, OpaProperties opaProperties) {
+        return new OpenPolicyAgentPDPClient<>(opaClient, queryProvider, inputProvider, opaProperties.getBudget().toExpressionBudget());
     }
 
     @Bean
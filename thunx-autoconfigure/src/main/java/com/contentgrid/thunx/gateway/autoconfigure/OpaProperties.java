@@ -1,5 +1,6 @@
 package com.contentgrid.thunx.gateway.autoconfigure;
 
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -9,9 +10,38 @@ public class OpaProperties {
 
     private OpaServiceProperties service = new OpaServiceProperties();
     private String query;
+    private OpaBudgetProperties budget = new OpaBudgetProperties();
 
     @Data
     public static class OpaServiceProperties {
         private String url;
     }
+
+    /**
+     * Limits for the (reduced) policy residual returned by OPA; unset limits are not enforced
+     */
+    @Data
+    public static class OpaBudgetProperties {
+        private Integer maxNodes;
+        private Integer maxDepth;
+        private Integer maxReferences;
+        private Integer maxFanOut;
+
+        public ExpressionBudget toExpressionBudget() {
+            var budget = ExpressionBudget.UNLIMITED;
+            if (this.maxNodes != null) {
+                budget = budget.withMaxNodeCount(this.maxNodes);
+            }
+            if (this.maxDepth != null) {
+                budget = budget.withMaxDepth(this.maxDepth);
+            }
+            if (this.maxReferences != null) {
+                budget = budget.withMaxDistinctReferenceCount(this.maxReferences);
+            }
+            if (this.maxFanOut != null) {
+                budget = budget.withMaxFanOut(this.maxFanOut);
+            }
+            return budget;
+        }
+    }
 }
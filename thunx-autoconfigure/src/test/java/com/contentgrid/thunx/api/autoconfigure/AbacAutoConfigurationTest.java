@@ -1,10 +1,13 @@
 package com.contentgrid.thunx.api.autoconfigure;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.contentgrid.thunx.encoding.ThunkExpressionDecoder;
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
 import com.contentgrid.thunx.spring.data.rest.AbacExceptionHandler;
 import com.contentgrid.thunx.spring.data.rest.AbacRequestFilter;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.UnsatisfiedDependencyException;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -88,6 +91,33 @@ public class AbacAutoConfigurationTest {
                 });
     }
 
+    @Test
+    public void shouldNotLimitExpressionsByDefault() {
+        contextRunner.withUserConfiguration(TestContext.class)
+                .run(context -> {
+                    assertThat(context).getBean(ExpressionBudget.class).isEqualTo(ExpressionBudget.UNLIMITED);
+                });
+    }
+
+    @Test
+    public void shouldEnforceConfiguredExpressionBudget() {
+        contextRunner.withUserConfiguration(TestContext.class)
+                .withPropertyValues("contentgrid.thunx.abac.budget.max-fan-out=2")
+                .run(context -> {
+                    assertThat(context).getBean(ExpressionBudget.class)
+                            .isEqualTo(ExpressionBudget.UNLIMITED.withMaxFanOut(2));
+
+                    // true OR true OR true
+                    var json = "{\"type\":\"function\",\"operator\":\"or\",\"terms\":["
+                            + "{\"type\":\"bool\",\"value\":true},"
+                            + "{\"type\":\"bool\",\"value\":true},"
+                            + "{\"type\":\"bool\",\"value\":true}]}";
+                    var decoder = context.getBean(ThunkExpressionDecoder.class);
+                    assertThatThrownBy(() -> decoder.decode(json.getBytes(StandardCharsets.UTF_8)))
+                            .hasMessageContaining("fan-out<=2");
+                });
+    }
+
     @Configuration
     @EnableAutoConfiguration
     public static class TestContext {
@@ -15,6 +15,8 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -33,6 +35,7 @@ class JsonScalarDto<T> implements JsonExpressionDto {
             String.class, "string",
             Number.class, "number",
             Boolean.class, "bool",
+            Instant.class, "timestamp",
             Void.class, "null");
 
     private String type;
@@ -52,6 +55,13 @@ class JsonScalarDto<T> implements JsonExpressionDto {
         return new JsonScalarDto(SCALAR_TYPES.get(Boolean.class), bool);
     }
 
+    /**
+     * Timestamps are encoded as ISO-8601 strings in UTC, for example {@code 2024-01-31T12:00:00Z}
+     */
+    public static JsonScalarDto of(@NonNull Instant timestamp) {
+        return new JsonScalarDto(SCALAR_TYPES.get(Instant.class), timestamp.toString());
+    }
+
     public static JsonScalarDto nullValue() {
         return new JsonScalarDto(SCALAR_TYPES.get(Void.class), null);
     }
@@ -91,6 +101,15 @@ class JsonScalarDto<T> implements JsonExpressionDto {
                     return Scalar.of(Boolean.TRUE.equals(this.value));
                 }
                 throw new InvalidExpressionValueException(this.value, Boolean.class);
+            case "timestamp":
+                if (this.value instanceof String) {
+                    try {
+                        return Scalar.of(Instant.parse((String) this.value));
+                    } catch (DateTimeParseException ex) {
+                        throw new InvalidExpressionValueException(this.value, Instant.class);
+                    }
+                }
+                throw new InvalidExpressionValueException(this.value, Instant.class);
             case "null":
                 if (this.value != null) {
                     throw new InvalidExpressionValueException(this.value, Void.class);
@@ -3,32 +3,57 @@ package com.contentgrid.thunx.encoding.json;
 import com.contentgrid.thunx.encoding.ThunkExpressionDecoder;
 import com.contentgrid.thunx.encoding.ThunkExpressionEncoder;
 import com.contentgrid.thunx.predicates.model.ContextFreeThunkExpressionVisitor;
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
+import com.contentgrid.thunx.predicates.model.ExpressionBudgetExceededException;
 import com.contentgrid.thunx.predicates.model.FunctionExpression;
+import com.contentgrid.thunx.predicates.model.IterativeThunkExpressionVisitor;
 import com.contentgrid.thunx.predicates.model.Scalar;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import com.contentgrid.thunx.predicates.model.ThunkExpressionTraversal;
 import com.contentgrid.thunx.predicates.model.Variable;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
 
 /**
  * JSON encoder and decoder for thunx expressions
  * @since 0.10.1
  */
-@RequiredArgsConstructor
 public class JsonThunkExpressionCoder implements ThunkExpressionEncoder, ThunkExpressionDecoder {
     private final ObjectMapper objectMapper;
+    private final ExpressionBudget expressionBudget;
     private static final JsonEncoderVisitor visitor = new JsonEncoderVisitor();
 
     public JsonThunkExpressionCoder() {
         this(new ObjectMapper());
     }
 
+    public JsonThunkExpressionCoder(ObjectMapper objectMapper) {
+        this(objectMapper, ExpressionBudget.UNLIMITED);
+    }
+
+    /**
+     * @param expressionBudget the budget that decoded expressions must fit in
+     */
+    public JsonThunkExpressionCoder(@NonNull ExpressionBudget expressionBudget) {
+        this(new ObjectMapper(), expressionBudget);
+    }
+
+    /**
+     * @param expressionBudget the budget that decoded expressions must fit in
+     */
+    public JsonThunkExpressionCoder(@NonNull ObjectMapper objectMapper, @NonNull ExpressionBudget expressionBudget) {
+        this.objectMapper = objectMapper;
+        this.expressionBudget = expressionBudget;
+    }
+
     public ThunkExpression<?> decodeFromJson(JsonNode node) throws JsonProcessingException {
         return this.objectMapper.treeToValue(node, JsonExpressionDto.class)
                 .toExpression();
@@ -43,14 +68,25 @@ public class JsonThunkExpressionCoder implements ThunkExpressionEncoder, ThunkEx
         return decode(data);
     }
 
+    /**
+     * @throws InvalidExpressionDataException when the expression is invalid or exceeds the expression budget
+     */
     @Override
     public ThunkExpression<Boolean> decode(byte[] data) {
+        ThunkExpression<Boolean> expression;
         try {
-            return decodeFromJson(this.objectMapper.readTree(data))
+            expression = decodeFromJson(this.objectMapper.readTree(data))
                     .assertResultType(Boolean.class);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+
+        try {
+            this.expressionBudget.enforce(expression);
+        } catch (ExpressionBudgetExceededException ex) {
+            throw new InvalidExpressionDataException(ex.getMessage());
+        }
+        return expression;
     }
 
     public JsonNode encodeToJson(ThunkExpression<?> expression) {
@@ -67,7 +103,8 @@ public class JsonThunkExpressionCoder implements ThunkExpressionEncoder, ThunkEx
         }
     }
 
-    private static class JsonEncoderVisitor extends ContextFreeThunkExpressionVisitor<JsonExpressionDto> {
+    private static class JsonEncoderVisitor extends ContextFreeThunkExpressionVisitor<JsonExpressionDto>
+            implements IterativeThunkExpressionVisitor<JsonExpressionDto, Void> {
 
         @Override
         public JsonExpressionDto visit(Scalar<?> scalar) {
@@ -79,21 +116,29 @@ public class JsonThunkExpressionCoder implements ThunkExpressionEncoder, ThunkEx
                 throw new IllegalArgumentException(exMessage);
             }
 
+            if (scalar.getValue() instanceof Instant) {
+                return JsonScalarDto.of((Instant) scalar.getValue());
+            }
             return JsonScalarDto.of(typeName, scalar.getValue());
         }
 
         @Override
         public JsonExpressionDto visit(FunctionExpression<?> functionExpression) {
-            var operator = functionExpression.getOperator();
-            var result = functionExpression.getTerms().stream().map(term -> term.accept(this, null));
-
+            return ThunkExpressionTraversal.traverse(functionExpression, this, null);
+        }
 
-            return new JsonFunctionDto(operator.getKey(), result);
+        @Override
+        public JsonExpressionDto leave(FunctionExpression<?> functionExpression, List<JsonExpressionDto> terms,
+                Void context) {
+            return new JsonFunctionDto(functionExpression.getOperator().getKey(), terms);
         }
 
         @Override
         public JsonExpressionDto visit(SymbolicReference ref) {
-            var jsonExprTerms = ref.getPath().stream().map(p -> p.accept(this)).collect(Collectors.toList());
+            var jsonExprTerms = new ArrayList<JsonExpressionDto>(ref.pathLength());
+            for (int i = 0; i < ref.pathLength(); i++) {
+                jsonExprTerms.add(ref.pathElement(i).accept(this));
+            }
             return new JsonSymbolicReferenceDto(ref.getSubject().accept(this, null), jsonExprTerms);
         }
 
@@ -6,12 +6,17 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.contentgrid.thunx.encoding.json.InvalidExpressionDataException.InvalidExpressionValueException;
 import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
 import com.contentgrid.thunx.predicates.model.LogicalOperation;
 import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SetMembership;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
 import com.contentgrid.thunx.predicates.model.Variable;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Nested;
@@ -58,6 +63,12 @@ class JsonThunkExpressionCoderTest {
                 assertThatJson(jsonExprFalse).isEqualTo("{ type: 'bool', value: false }");
             }
 
+            @Test
+            void timestamp_toJson() {
+                var result = converter.encodeToJson(Scalar.of(Instant.ofEpochSecond(1_700_000_000)));
+                assertThatJson(result).isEqualTo("{ type: 'timestamp', value: '2023-11-14T22:13:20Z' }");
+            }
+
             @Test
             void null_toJson() {
                 var result = converter.encodeToJson(Scalar.nullValue());
@@ -148,6 +159,20 @@ class JsonThunkExpressionCoderTest {
                                 + "]}");
             }
 
+            @Test
+            void starts_with() {
+                // startswith(entity.path, '/tenant-a/')
+                var expr = Comparison.startsWith(SymbolicReference.parse("entity.path"), Scalar.of("/tenant-a/"));
+                var result = converter.encodeToJson(expr);
+
+                assertThatJson(result)
+                        .isEqualTo("{ type: 'function', operator: 'startswith', terms: ["
+                                + "     { type: 'ref', subject: { type: 'var', name: 'entity' },"
+                                + "       path: [{ type: 'string', value: 'path' }] },"
+                                + "     { type: 'string', value: '/tenant-a/' }"
+                                + "]}");
+            }
+
             @Test
             void logical_disjunction() {
                 // rules: answer == 42 OR user.admin == true
@@ -285,6 +310,28 @@ class JsonThunkExpressionCoderTest {
                 assertThat(actual).isEqualTo(Scalar.of(3.141592653589793));
             }
 
+            @Test
+            void timestamp() throws JsonProcessingException, InvalidExpressionDataException {
+                var json = mapper.valueToTree(Map.of(
+                        "type", "timestamp",
+                        "value", "2023-11-14T22:13:20.5Z"
+                ));
+
+                var actual = converter.decodeFromJson(json);
+                assertThat(actual).isEqualTo(Scalar.of(Instant.ofEpochSecond(1_700_000_000, 500_000_000)));
+            }
+
+            @Test
+            void timestamp_invalidValue() {
+                var json = mapper.valueToTree(Map.of(
+                        "type", "timestamp",
+                        "value", "yesterday"
+                ));
+
+                assertThatThrownBy(() -> converter.decodeFromJson(json))
+                        .isInstanceOf(InvalidExpressionValueException.class);
+            }
+
             @Test
             void number_nullValue_shouldFail() throws JsonProcessingException {
                 var json = mapper.readTree("{ \"type\": \"number\", \"value\": null }");
@@ -373,6 +420,35 @@ class JsonThunkExpressionCoderTest {
                 assertThat(expr).isEqualTo(Comparison.areEqual(Variable.named("answer"), Scalar.of(42)));
             }
 
+            @Test
+            void numbers_roundTrip() throws InvalidExpressionDataException {
+                var numbers = List.of(Scalar.of(42), Scalar.of(1.5), Scalar.of(5.0), Scalar.of(1e7), Scalar.of(1e20),
+                        Scalar.of(new BigDecimal("5E+1")));
+
+                for (var number : numbers) {
+                    var json = converter.encode(Comparison.areEqual(Variable.named("answer"), number));
+                    var expr = converter.decode(json);
+
+                    assertThat(expr).isEqualTo(Comparison.areEqual(Variable.named("answer"), number));
+                }
+            }
+
+            @Test
+            void numbers_roundTrip_withBigDecimals() throws InvalidExpressionDataException {
+                var decimalConverter = new JsonThunkExpressionCoder(
+                        new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+                // the json tree model strips trailing zeros from decimals, so only use values without them
+                var numbers = List.of(Scalar.of(42), Scalar.of(1.5), Scalar.of(0.1), Scalar.of(new BigDecimal("5E+1")),
+                        Scalar.of(new BigDecimal("12345678901234567890.5")));
+
+                for (var number : numbers) {
+                    var json = decimalConverter.encode(Comparison.areEqual(Variable.named("answer"), number));
+                    var expr = decimalConverter.decode(json);
+
+                    assertThat(expr).isEqualTo(Comparison.areEqual(Variable.named("answer"), number));
+                }
+            }
+
             @Test
             void is_not_equal() throws InvalidExpressionDataException {
                 // answer != 42
@@ -382,6 +458,32 @@ class JsonThunkExpressionCoderTest {
                 assertThat(expr).isEqualTo(Comparison.notEqual(Variable.named("answer"), Scalar.of(42)));
             }
 
+            @Test
+            void string_operators() throws InvalidExpressionDataException {
+                // startswith(entity.path, '/tenant-a/'), endswith(...), contains(...)
+                var path = SymbolicReference.parse("entity.path");
+                for (var expected : List.of(
+                        Comparison.startsWith(path, Scalar.of("/tenant-a/")),
+                        Comparison.endsWith(path, Scalar.of(".pdf")),
+                        Comparison.contains(path, Scalar.of("report")))) {
+                    assertThat(converter.decode(converter.encode(expected))).isEqualTo(expected);
+                }
+            }
+
+            @Test
+            void membership() throws InvalidExpressionDataException {
+                // entity.department IN ('HR', 'IT')
+                var membership = SetMembership.in(SymbolicReference.parse("entity.department"),
+                        Scalar.of("HR"), Scalar.of("IT"));
+                assertThatJson(converter.encodeToJson(membership)).isEqualTo("{ type: 'function', operator: 'in', terms: ["
+                        + "     { type: 'ref', subject: { type: 'var', name: 'entity' },"
+                        + "       path: [{ type: 'string', value: 'department' }] },"
+                        + "     { type: 'string', value: 'HR' },"
+                        + "     { type: 'string', value: 'IT' }"
+                        + "]}");
+                assertThat(converter.decode(converter.encode(membership))).isEqualTo(membership);
+            }
+
             @Test
             void is_greater_than() throws InvalidExpressionDataException {
                 // answer > 42
@@ -454,7 +556,23 @@ class JsonThunkExpressionCoderTest {
             }
         }
 
+        @Test
+        void expressionBudget_exceeded_shouldFail() {
+            var budgetedConverter = new JsonThunkExpressionCoder(new ObjectMapper(),
+                    ExpressionBudget.UNLIMITED.withMaxFanOut(2));
+
+            var rule1 = Comparison.areEqual(SymbolicReference.of("user.admin"), Scalar.of(true));
+            var rule2 = Comparison.areEqual(SymbolicReference.parse("document.owner"), Scalar.of("alice"));
+            var rule3 = Comparison.areEqual(SymbolicReference.parse("document.owner"), Scalar.of("bob"));
 
+            assertThat(budgetedConverter.decode(converter.encode(LogicalOperation.disjunction(rule1, rule2))))
+                    .isEqualTo(LogicalOperation.disjunction(rule1, rule2));
+
+            var json = converter.encode(LogicalOperation.disjunction(rule1, rule2, rule3));
+            assertThatThrownBy(() -> budgetedConverter.decode(json))
+                    .isInstanceOf(InvalidExpressionDataException.class)
+                    .hasMessageContaining("fan-out=3");
+        }
     }
 
 }
\ No newline at end of file
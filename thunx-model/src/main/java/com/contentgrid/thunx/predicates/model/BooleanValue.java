@@ -1,18 +1,20 @@
 package com.contentgrid.thunx.predicates.model;
 
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 
-@EqualsAndHashCode(callSuper = false)
 class BooleanValue implements Scalar<Boolean> {
 
     @Getter
     @NonNull
-    private Boolean value;
+    private final Boolean value;
 
-    protected BooleanValue(Boolean value) {
+    @Getter
+    private final Fingerprint fingerprint;
+
+    protected BooleanValue(@NonNull Boolean value) {
         this.value = value;
+        this.fingerprint = Fingerprint.ofBoolean(value);
     }
 
     @Override
@@ -20,6 +22,22 @@ class BooleanValue implements Scalar<Boolean> {
         return Boolean.class;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        return this.value.equals(((BooleanValue) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.value.hashCode();
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", BooleanValue.class.getSimpleName(), this.getValue());
@@ -1,14 +1,10 @@
 package com.contentgrid.thunx.predicates.model;
 
 import java.util.List;
-import lombok.AccessLevel;
-import lombok.EqualsAndHashCode;
+import java.util.Objects;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@EqualsAndHashCode
 public class Comparison implements BooleanOperation {
 
     @Getter
@@ -23,10 +19,41 @@ public class Comparison implements BooleanOperation {
     @NonNull
     private final ThunkExpression<?> rightTerm;
 
+    private final List<ThunkExpression<?>> terms;
+
+    @Getter
+    private final Fingerprint fingerprint;
+
+    // computed on first use; racing threads compute the same immutable result
+    private ReferencedPaths referencedPaths;
+
+    private Comparison(@NonNull Operator operator, @NonNull ThunkExpression<?> leftTerm,
+            @NonNull ThunkExpression<?> rightTerm) {
+        this.operator = operator;
+        this.leftTerm = leftTerm;
+        this.rightTerm = rightTerm;
+        this.terms = List.of(leftTerm, rightTerm);
+        this.fingerprint = Fingerprint.ofFunction(operator, leftTerm, rightTerm);
+    }
+
+    private static Comparison create(Operator operator, ThunkExpression<?> left, ThunkExpression<?> right) {
+        return ThunkExpressionInterner.intern(new Comparison(operator, left, right));
+    }
 
     @Override
     public List<ThunkExpression<?>> getTerms() {
-        return List.of(this.leftTerm, this.rightTerm);
+        return this.terms;
+    }
+
+    @Override
+    public int termCount() {
+        return 2;
+    }
+
+    @Override
+    public ThunkExpression<?> term(int index) {
+        Objects.checkIndex(index, 2);
+        return index == 0 ? this.leftTerm : this.rightTerm;
     }
 
     public static Comparison areEqual(List<ThunkExpression<?>> terms) {
@@ -35,7 +62,7 @@ public class Comparison implements BooleanOperation {
     }
 
     public static Comparison areEqual(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new Comparison(Operator.EQUALS, left, right);
+        return create(Operator.EQUALS, left, right);
     }
 
     public static Comparison notEqual(List<ThunkExpression<?>> terms) {
@@ -44,7 +71,7 @@ public class Comparison implements BooleanOperation {
     }
 
     public static Comparison notEqual(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new Comparison(Operator.NOT_EQUAL_TO, left, right);
+        return create(Operator.NOT_EQUAL_TO, left, right);
     }
 
     public static Comparison greater(List<ThunkExpression<?>> terms) {
@@ -53,7 +80,7 @@ public class Comparison implements BooleanOperation {
     }
 
     public static Comparison greater(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new Comparison(Operator.GREATER_THAN, left, right);
+        return create(Operator.GREATER_THAN, left, right);
     }
 
     public static Comparison greaterOrEquals(List<ThunkExpression<?>> terms) {
@@ -62,7 +89,7 @@ public class Comparison implements BooleanOperation {
     }
 
     public static Comparison greaterOrEquals(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new Comparison(Operator.GREATER_THAN_OR_EQUAL_TO, left, right);
+        return create(Operator.GREATER_THAN_OR_EQUAL_TO, left, right);
     }
 
     public static Comparison less(@NonNull List<ThunkExpression<?>> terms) {
@@ -71,7 +98,7 @@ public class Comparison implements BooleanOperation {
     }
 
     public static Comparison less(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new Comparison(Operator.LESS_THAN, left, right);
+        return create(Operator.LESS_THAN, left, right);
     }
 
     public static Comparison lessOrEquals(@NonNull List<ThunkExpression<?>> terms) {
@@ -80,7 +107,43 @@ public class Comparison implements BooleanOperation {
     }
 
     public static Comparison lessOrEquals(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new Comparison(Operator.LESS_THEN_OR_EQUAL_TO, left, right);
+        return create(Operator.LESS_THEN_OR_EQUAL_TO, left, right);
+    }
+
+    public static Comparison startsWith(@NonNull List<ThunkExpression<?>> terms) {
+        assertTermSizeIsTwo(terms);
+        return startsWith(terms.get(0), terms.get(1));
+    }
+
+    /**
+     * The left term starts with the right term, for example {@code startswith(entity.path, '/tenant-a/')}
+     */
+    public static Comparison startsWith(ThunkExpression<?> left, ThunkExpression<?> right) {
+        return create(Operator.STARTS_WITH, left, right);
+    }
+
+    public static Comparison endsWith(@NonNull List<ThunkExpression<?>> terms) {
+        assertTermSizeIsTwo(terms);
+        return endsWith(terms.get(0), terms.get(1));
+    }
+
+    /**
+     * The left term ends with the right term, for example {@code endswith(entity.filename, '.pdf')}
+     */
+    public static Comparison endsWith(ThunkExpression<?> left, ThunkExpression<?> right) {
+        return create(Operator.ENDS_WITH, left, right);
+    }
+
+    public static Comparison contains(@NonNull List<ThunkExpression<?>> terms) {
+        assertTermSizeIsTwo(terms);
+        return contains(terms.get(0), terms.get(1));
+    }
+
+    /**
+     * The left term contains the right term, for example {@code contains(entity.description, 'confidential')}
+     */
+    public static Comparison contains(ThunkExpression<?> left, ThunkExpression<?> right) {
+        return create(Operator.CONTAINS, left, right);
     }
 
     private static void assertTermSizeIsTwo(List<ThunkExpression<?>> terms) {
@@ -90,6 +153,35 @@ public class Comparison implements BooleanOperation {
         throw new IllegalArgumentException("Expected 2 terms, but got " + terms.size());
     }
 
+    ReferencedPaths referencedPaths() {
+        var result = this.referencedPaths;
+        if (result == null) {
+            result = ReferencedPaths.analyze(this);
+            this.referencedPaths = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (Comparison) o;
+        return this.fingerprint.equals(other.fingerprint)
+                && this.operator == other.operator
+                && this.leftTerm.equals(other.leftTerm)
+                && this.rightTerm.equals(other.rightTerm);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
+    }
+
     @Override
     public String toString() {
         return this.toDebugString();
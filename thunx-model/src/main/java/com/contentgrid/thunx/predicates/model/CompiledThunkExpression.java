@@ -0,0 +1,243 @@
+package com.contentgrid.thunx.predicates.model;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Flat, postfix representation of a {@link ThunkExpression}.
+ * <p>
+ * The expression tree is compiled into a program of instructions, stored in two parallel {@code int[]} arrays, and
+ * a constant pool that holds the leaves of the tree: {@link Scalar scalars}, {@link SymbolicReference symbolic
+ * references} and {@link Variable variables}. Every instruction either pushes a constant on the stack, or applies an
+ * {@link Operator} to the topmost {@link #getOperand(int) operand} values on the stack.
+ * <p>
+ * For example, {@code AND(EQ(entity.owner, 'alice'), GT(entity.level, 3))} compiles into:
+ * <pre>
+ *     0: PUSH #0 (entity.owner)
+ *     1: PUSH #1 ('alice')
+ *     2: EQ 2
+ *     3: PUSH #2 (entity.level)
+ *     4: PUSH #3 (3)
+ *     5: GT 2
+ *     6: AND 2
+ * </pre>
+ * <p>
+ * Programs can be walked, hashed and compared with simple loops over primitive arrays, without recursion and without
+ * allocating intermediate lists. {@link #toExpression()} converts the program back into an equal expression tree.
+ * <p>
+ * Opcodes are derived from the {@link Operator} declaration order and are not meant to be persisted.
+ */
+public final class CompiledThunkExpression {
+
+    /**
+     * Opcode of an instruction that pushes a constant from the constant pool
+     */
+    public static final int PUSH = 0;
+
+    private static final Operator[] OPERATORS = Operator.values();
+
+    private final int[] opcodes;
+    private final int[] operands;
+    private final ThunkExpression<?>[] constants;
+
+    @Getter
+    private final int maxStackDepth;
+
+    @Getter
+    private final Fingerprint fingerprint;
+
+    private CompiledThunkExpression(int[] opcodes, int[] operands, ThunkExpression<?>[] constants, int maxStackDepth,
+            Fingerprint fingerprint) {
+        this.opcodes = opcodes;
+        this.operands = operands;
+        this.constants = constants;
+        this.maxStackDepth = maxStackDepth;
+        this.fingerprint = fingerprint;
+    }
+
+    public static CompiledThunkExpression compile(@NonNull ThunkExpression<?> expression) {
+        var program = new ProgramBuilder();
+
+        // iterative post-order walk: a function is emitted after all of its terms
+        var stack = new ArrayDeque<Frame>();
+        stack.push(new Frame(expression));
+        while (!stack.isEmpty()) {
+            var frame = stack.peek();
+            if (frame.expression instanceof FunctionExpression<?>) {
+                var function = (FunctionExpression<?>) frame.expression;
+                if (frame.next < function.termCount()) {
+                    stack.push(new Frame(function.term(frame.next++)));
+                    continue;
+                }
+                program.emitOperator(function.getOperator(), function.termCount());
+            } else {
+                program.emitConstant(frame.expression);
+            }
+            stack.pop();
+        }
+
+        return program.build(expression.getFingerprint());
+    }
+
+    /**
+     * @return the number of instructions in this program
+     */
+    public int size() {
+        return this.opcodes.length;
+    }
+
+    /**
+     * @return the opcode of the instruction at index {@code pc}; either {@link #PUSH}, or an operator opcode
+     */
+    public int getOpcode(int pc) {
+        return this.opcodes[pc];
+    }
+
+    /**
+     * @return the operator of the instruction at index {@code pc}, or {@code null} if it is a {@link #PUSH}
+     */
+    public Operator getOperator(int pc) {
+        int opcode = this.opcodes[pc];
+        return opcode == PUSH ? null : OPERATORS[opcode - 1];
+    }
+
+    /**
+     * @return the constant pool index for a {@link #PUSH} instruction, or the number of terms for an operator
+     */
+    public int getOperand(int pc) {
+        return this.operands[pc];
+    }
+
+    public int getConstantCount() {
+        return this.constants.length;
+    }
+
+    public ThunkExpression<?> getConstant(int index) {
+        return this.constants[index];
+    }
+
+    /**
+     * Converts this program back into an expression tree.
+     */
+    public ThunkExpression<?> toExpression() {
+        var stack = new ThunkExpression<?>[this.maxStackDepth];
+        int top = 0;
+
+        for (int pc = 0; pc < this.opcodes.length; pc++) {
+            int opcode = this.opcodes[pc];
+            int operand = this.operands[pc];
+            if (opcode == PUSH) {
+                stack[top++] = this.constants[operand];
+            } else {
+                top -= operand;
+                var terms = new ArrayList<ThunkExpression<?>>(operand);
+                for (int i = 0; i < operand; i++) {
+                    terms.add(stack[top + i]);
+                }
+                stack[top++] = OPERATORS[opcode - 1].create(terms);
+            }
+        }
+
+        return stack[0];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (CompiledThunkExpression) o;
+        return this.fingerprint.equals(other.fingerprint)
+                && Arrays.equals(this.opcodes, other.opcodes)
+                && Arrays.equals(this.operands, other.operands)
+                && Arrays.equals(this.constants, other.constants);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        var result = new StringBuilder();
+        for (int pc = 0; pc < this.opcodes.length; pc++) {
+            var operator = this.getOperator(pc);
+            if (operator == null) {
+                result.append(String.format("%d: PUSH #%d (%s)%n", pc, this.operands[pc], this.constants[this.operands[pc]]));
+            } else {
+                result.append(String.format("%d: %s %d%n", pc, operator.getKey().toUpperCase(Locale.ROOT), this.operands[pc]));
+            }
+        }
+        return result.toString();
+    }
+
+    private static class Frame {
+
+        private final ThunkExpression<?> expression;
+        private int next;
+
+        Frame(ThunkExpression<?> expression) {
+            this.expression = expression;
+        }
+    }
+
+    private static class ProgramBuilder {
+
+        private int[] opcodes = new int[16];
+        private int[] operands = new int[16];
+        private int size;
+
+        private final List<ThunkExpression<?>> constants = new ArrayList<>();
+        private final HashMap<ThunkExpression<?>, Integer> constantIndex = new HashMap<>();
+
+        private int depth;
+        private int maxDepth;
+
+        void emitConstant(ThunkExpression<?> constant) {
+            var index = this.constantIndex.computeIfAbsent(constant, key -> {
+                this.constants.add(key);
+                return this.constants.size() - 1;
+            });
+            this.emit(PUSH, index);
+            this.depth++;
+            this.maxDepth = Math.max(this.maxDepth, this.depth);
+        }
+
+        void emitOperator(Operator operator, int arity) {
+            this.emit(operator.ordinal() + 1, arity);
+            this.depth = this.depth - arity + 1;
+            this.maxDepth = Math.max(this.maxDepth, this.depth);
+        }
+
+        private void emit(int opcode, int operand) {
+            if (this.size == this.opcodes.length) {
+                this.opcodes = Arrays.copyOf(this.opcodes, this.size * 2);
+                this.operands = Arrays.copyOf(this.operands, this.size * 2);
+            }
+            this.opcodes[this.size] = opcode;
+            this.operands[this.size] = operand;
+            this.size++;
+        }
+
+        CompiledThunkExpression build(Fingerprint fingerprint) {
+            return new CompiledThunkExpression(
+                    Arrays.copyOf(this.opcodes, this.size),
+                    Arrays.copyOf(this.operands, this.size),
+                    this.constants.toArray(new ThunkExpression<?>[0]),
+                    this.maxDepth,
+                    fingerprint
+            );
+        }
+    }
+}
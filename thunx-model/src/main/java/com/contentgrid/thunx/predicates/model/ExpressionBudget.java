@@ -0,0 +1,103 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.util.ArrayList;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Upper limits for the {@link ExpressionComplexity} of a {@link ThunkExpression}.
+ * <p>
+ * Budgets are immutable; start from {@link #UNLIMITED} and set the limits that should be enforced:
+ * <pre>
+ *     var budget = ExpressionBudget.UNLIMITED.withMaxNodeCount(1000).withMaxDepth(32);
+ * </pre>
+ */
+@Getter
+@EqualsAndHashCode
+public final class ExpressionBudget {
+
+    public static final ExpressionBudget UNLIMITED = new ExpressionBudget(
+            Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final int maxNodeCount;
+    private final int maxDepth;
+    private final int maxDistinctReferenceCount;
+    private final int maxFanOut;
+
+    private ExpressionBudget(int maxNodeCount, int maxDepth, int maxDistinctReferenceCount, int maxFanOut) {
+        this.maxNodeCount = requirePositive("maxNodeCount", maxNodeCount);
+        this.maxDepth = requirePositive("maxDepth", maxDepth);
+        this.maxDistinctReferenceCount = requirePositive("maxDistinctReferenceCount", maxDistinctReferenceCount);
+        this.maxFanOut = requirePositive("maxFanOut", maxFanOut);
+    }
+
+    public ExpressionBudget withMaxNodeCount(int maxNodeCount) {
+        return new ExpressionBudget(maxNodeCount, this.maxDepth, this.maxDistinctReferenceCount, this.maxFanOut);
+    }
+
+    public ExpressionBudget withMaxDepth(int maxDepth) {
+        return new ExpressionBudget(this.maxNodeCount, maxDepth, this.maxDistinctReferenceCount, this.maxFanOut);
+    }
+
+    public ExpressionBudget withMaxDistinctReferenceCount(int maxDistinctReferenceCount) {
+        return new ExpressionBudget(this.maxNodeCount, this.maxDepth, maxDistinctReferenceCount, this.maxFanOut);
+    }
+
+    public ExpressionBudget withMaxFanOut(int maxFanOut) {
+        return new ExpressionBudget(this.maxNodeCount, this.maxDepth, this.maxDistinctReferenceCount, maxFanOut);
+    }
+
+    public boolean isUnlimited() {
+        return this.equals(UNLIMITED);
+    }
+
+    public boolean allows(@NonNull ExpressionComplexity complexity) {
+        return complexity.getNodeCount() <= this.maxNodeCount
+                && complexity.getDepth() <= this.maxDepth
+                && complexity.getDistinctReferenceCount() <= this.maxDistinctReferenceCount
+                && complexity.getMaxFanOut() <= this.maxFanOut;
+    }
+
+    /**
+     * Checks the complexity of the expression against this budget. The expression is only measured until the first
+     * limit is crossed.
+     *
+     * @throws ExpressionBudgetExceededException when the expression exceeds any of the limits of this budget
+     */
+    public void enforce(@NonNull ThunkExpression<?> expression) throws ExpressionBudgetExceededException {
+        if (this.isUnlimited()) {
+            return;
+        }
+
+        var complexity = ExpressionComplexity.of(expression, this);
+        if (!this.allows(complexity)) {
+            throw new ExpressionBudgetExceededException(complexity, this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        var limits = new ArrayList<String>();
+        if (this.maxNodeCount != Integer.MAX_VALUE) {
+            limits.add("nodes<=" + this.maxNodeCount);
+        }
+        if (this.maxDepth != Integer.MAX_VALUE) {
+            limits.add("depth<=" + this.maxDepth);
+        }
+        if (this.maxDistinctReferenceCount != Integer.MAX_VALUE) {
+            limits.add("references<=" + this.maxDistinctReferenceCount);
+        }
+        if (this.maxFanOut != Integer.MAX_VALUE) {
+            limits.add("fan-out<=" + this.maxFanOut);
+        }
+        return limits.isEmpty() ? "unlimited" : String.join(", ", limits);
+    }
+
+    private static int requirePositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(String.format("%s must be positive, but was %d", name, value));
+        }
+        return value;
+    }
+}
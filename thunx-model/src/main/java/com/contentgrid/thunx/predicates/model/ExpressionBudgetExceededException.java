@@ -0,0 +1,22 @@
+package com.contentgrid.thunx.predicates.model;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the {@link ExpressionComplexity} of an expression exceeds an {@link ExpressionBudget}.
+ * <p>
+ * The complexity is measured up to the point where the first limit was crossed, so it is a lower bound for the
+ * complexity of the whole expression.
+ */
+@Getter
+public class ExpressionBudgetExceededException extends IllegalArgumentException {
+
+    private final ExpressionComplexity complexity;
+    private final ExpressionBudget budget;
+
+    public ExpressionBudgetExceededException(ExpressionComplexity complexity, ExpressionBudget budget) {
+        super(String.format("Expression complexity (%s) exceeds budget (%s)", complexity, budget));
+        this.complexity = complexity;
+        this.budget = budget;
+    }
+}
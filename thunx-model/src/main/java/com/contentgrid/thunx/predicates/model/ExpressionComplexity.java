@@ -0,0 +1,100 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Size metrics of a {@link ThunkExpression}, used to put a {@link ExpressionBudget budget} on expressions.
+ * <p>
+ * A {@link SymbolicReference} counts as a single node, its path elements are not counted separately.
+ */
+@Getter
+@EqualsAndHashCode
+public final class ExpressionComplexity {
+
+    /**
+     * The total number of nodes in the expression tree
+     */
+    private final int nodeCount;
+
+    /**
+     * The number of nodes on the longest path from the root to a leaf; a single scalar has depth 1
+     */
+    private final int depth;
+
+    /**
+     * The number of distinct {@link SymbolicReference symbolic references}
+     */
+    private final int distinctReferenceCount;
+
+    /**
+     * The largest number of terms of a single {@link FunctionExpression}
+     */
+    private final int maxFanOut;
+
+    private ExpressionComplexity(int nodeCount, int depth, int distinctReferenceCount, int maxFanOut) {
+        this.nodeCount = nodeCount;
+        this.depth = depth;
+        this.distinctReferenceCount = distinctReferenceCount;
+        this.maxFanOut = maxFanOut;
+    }
+
+    public static ExpressionComplexity of(@NonNull ThunkExpression<?> expression) {
+        return of(expression, ExpressionBudget.UNLIMITED);
+    }
+
+    /**
+     * Measures the expression until one of the limits of the budget is crossed. The walk stops at that point, so the
+     * complexity of an expression that exceeds the budget only covers the part of the expression that was visited.
+     */
+    static ExpressionComplexity of(@NonNull ThunkExpression<?> expression, @NonNull ExpressionBudget budget) {
+        int nodeCount = 0;
+        int depth = 0;
+        int maxFanOut = 0;
+        var references = new HashSet<SymbolicReference>();
+
+        // breadth-first, one level of the tree at a time, so the depth is the number of levels
+        List<ThunkExpression<?>> level = List.of(expression);
+        walk:
+        while (!level.isEmpty()) {
+            if (++depth > budget.getMaxDepth()) {
+                break;
+            }
+            var nextLevel = new ArrayList<ThunkExpression<?>>();
+            for (var node : level) {
+                if (++nodeCount > budget.getMaxNodeCount()) {
+                    break walk;
+                }
+                if (node instanceof FunctionExpression<?>) {
+                    var function = (FunctionExpression<?>) node;
+                    int termCount = function.termCount();
+                    maxFanOut = Math.max(maxFanOut, termCount);
+                    if (maxFanOut > budget.getMaxFanOut()) {
+                        break walk;
+                    }
+                    for (int i = 0; i < termCount; i++) {
+                        nextLevel.add(function.term(i));
+                    }
+                } else if (node instanceof SymbolicReference) {
+                    references.add((SymbolicReference) node);
+                    if (references.size() > budget.getMaxDistinctReferenceCount()) {
+                        break walk;
+                    }
+                }
+            }
+            level = nextLevel;
+        }
+
+        return new ExpressionComplexity(nodeCount, depth, references.size(), maxFanOut);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("nodes=%d, depth=%d, references=%d, fan-out=%d",
+                this.nodeCount, this.depth, this.distinctReferenceCount, this.maxFanOut);
+    }
+}
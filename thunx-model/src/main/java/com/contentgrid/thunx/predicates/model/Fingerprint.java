@@ -0,0 +1,330 @@
+package com.contentgrid.thunx.predicates.model;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.SymbolicReference.PathElement;
+import com.contentgrid.thunx.predicates.model.SymbolicReference.StringPathElement;
+import com.contentgrid.thunx.predicates.model.SymbolicReference.VariablePathElement;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * A 128-bit structural fingerprint of a {@link ThunkExpression}.
+ * <p>
+ * The fingerprint is derived from the operators, terms and scalar values of an expression only, it does not depend on
+ * object identity or on {@link Object#hashCode()} implementations. It is stable across JVMs and restarts, which makes
+ * it suitable as a compact cache key or as an identifier in logs and metrics.
+ * <p>
+ * Structurally equal expressions always have the same fingerprint. The reverse is true with overwhelming probability,
+ * but the fingerprint is not a cryptographic hash and should not be used where collisions can be forced.
+ */
+public final class Fingerprint implements Comparable<Fingerprint> {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private static final int TAG_FUNCTION = 1;
+    private static final int TAG_STRING = 2;
+    private static final int TAG_NUMBER = 3;
+    private static final int TAG_BOOLEAN = 4;
+    private static final int TAG_NULL = 5;
+    private static final int TAG_VARIABLE = 6;
+    private static final int TAG_REFERENCE = 7;
+    private static final int TAG_PATH_STRING = 8;
+    private static final int TAG_PATH_VARIABLE = 9;
+    private static final int TAG_SCALAR = 10;
+    private static final int TAG_TIMESTAMP = 11;
+
+    private static final int NUMBER_LONG = 1;
+    private static final int NUMBER_DOUBLE = 2;
+    private static final int NUMBER_DECIMAL = 3;
+
+    private final long high;
+    private final long low;
+
+    private Fingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public long getHigh() {
+        return this.high;
+    }
+
+    public long getLow() {
+        return this.low;
+    }
+
+    /**
+     * Computes the fingerprint of an arbitrary expression. Expressions from the model cache their fingerprint, this
+     * method is the fallback for other {@link ThunkExpression} implementations.
+     */
+    public static Fingerprint of(@NonNull ThunkExpression<?> expression) {
+        return expression.accept(new ContextFreeThunkExpressionVisitor<>() {
+            @Override
+            protected Fingerprint visit(Scalar<?> scalar) {
+                return ofScalar(scalar.getResultType(), scalar.getValue());
+            }
+
+            @Override
+            protected Fingerprint visit(FunctionExpression<?> functionExpression) {
+                return ofFunction(functionExpression.getOperator(), functionExpression.getTerms());
+            }
+
+            @Override
+            protected Fingerprint visit(SymbolicReference symbolicReference) {
+                return ofReference(symbolicReference.getSubject(), symbolicReference.getPath());
+            }
+
+            @Override
+            protected Fingerprint visit(Variable variable) {
+                return ofVariable(variable.getName());
+            }
+        }, null);
+    }
+
+    static Fingerprint ofFunction(Operator operator, List<? extends ThunkExpression<?>> terms) {
+        var hasher = new Hasher()
+                .putInt(TAG_FUNCTION)
+                .putString(operator.getKey())
+                .putInt(terms.size());
+        for (var term : terms) {
+            hasher.putFingerprint(term.getFingerprint());
+        }
+        return hasher.build();
+    }
+
+    static Fingerprint ofFunction(Operator operator, ThunkExpression<?> left, ThunkExpression<?> right) {
+        return new Hasher()
+                .putInt(TAG_FUNCTION)
+                .putString(operator.getKey())
+                .putInt(2)
+                .putFingerprint(left.getFingerprint())
+                .putFingerprint(right.getFingerprint())
+                .build();
+    }
+
+    static Fingerprint ofString(String value) {
+        return new Hasher().putInt(TAG_STRING).putString(value).build();
+    }
+
+    static Fingerprint ofNumber(long value) {
+        return new Hasher().putInt(TAG_NUMBER).putInt(NUMBER_LONG).putLong(value).build();
+    }
+
+    static Fingerprint ofNumber(double value) {
+        return new Hasher().putInt(TAG_NUMBER).putInt(NUMBER_DOUBLE).putLong(Double.doubleToLongBits(value)).build();
+    }
+
+    static Fingerprint ofNumber(BigDecimal value) {
+        return new Hasher().putInt(TAG_NUMBER).putInt(NUMBER_DECIMAL).putString(value.toString()).build();
+    }
+
+    /**
+     * Encodes a number of any type the way {@link NumberValue} encodes it, so equal numbers have the same fingerprint,
+     * whether they are held by a {@link NumberValue} or by another {@link Scalar} implementation.
+     */
+    static Fingerprint ofNumber(Number value) {
+        if ((value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue())) {
+            // not representable as a NumberValue
+            return ofNumber(value.doubleValue());
+        }
+        return NumberValue.from(value).getFingerprint();
+    }
+
+    static Fingerprint ofTimestamp(Instant value) {
+        return new Hasher().putInt(TAG_TIMESTAMP).putLong(value.getEpochSecond()).putInt(value.getNano()).build();
+    }
+
+    static Fingerprint ofBoolean(boolean value) {
+        return new Hasher().putInt(TAG_BOOLEAN).putInt(value ? 1 : 0).build();
+    }
+
+    static Fingerprint ofNull() {
+        return new Hasher().putInt(TAG_NULL).build();
+    }
+
+    static Fingerprint ofVariable(String name) {
+        return new Hasher().putInt(TAG_VARIABLE).putString(name).build();
+    }
+
+    static Fingerprint ofReference(Variable subject, List<PathElement> path) {
+        var hasher = new Hasher()
+                .putInt(TAG_REFERENCE)
+                .putString(subject.getName())
+                .putInt(path.size());
+        for (var element : path) {
+            if (element instanceof StringPathElement) {
+                hasher.putInt(TAG_PATH_STRING).putString(((StringPathElement) element).getPath().getValue());
+            } else if (element instanceof VariablePathElement) {
+                hasher.putInt(TAG_PATH_VARIABLE).putString(((VariablePathElement) element).getVariable().getName());
+            } else {
+                hasher.putString(element.toString());
+            }
+        }
+        return hasher.build();
+    }
+
+    private static Fingerprint ofScalar(Class<?> type, Object value) {
+        if (value == null) {
+            return ofNull();
+        } else if (value instanceof String) {
+            return ofString((String) value);
+        } else if (value instanceof Boolean) {
+            return ofBoolean((Boolean) value);
+        } else if (value instanceof Instant) {
+            return ofTimestamp((Instant) value);
+        } else if (value instanceof Number) {
+            return ofNumber((Number) value);
+        }
+        return new Hasher()
+                .putInt(TAG_SCALAR)
+                .putString(type.getName())
+                .putString(String.valueOf(value))
+                .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (Fingerprint) o;
+        return this.high == other.high && this.low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) this.low;
+    }
+
+    /**
+     * Orders fingerprints by their unsigned 128-bit value. The order is arbitrary, but stable across JVMs, which makes
+     * it usable to sort expressions in a canonical order.
+     */
+    @Override
+    public int compareTo(Fingerprint other) {
+        int result = Long.compareUnsigned(this.high, other.high);
+        return result != 0 ? result : Long.compareUnsigned(this.low, other.low);
+    }
+
+    /**
+     * @return the fingerprint as 32 lower-case hexadecimal characters
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", this.high, this.low);
+    }
+
+    /**
+     * Streaming variant of MurmurHash3 (x64, 128-bit), operating on 64-bit words.
+     */
+    private static final class Hasher {
+
+        private long h1;
+        private long h2;
+
+        private long pending;
+        private boolean hasPending;
+        private long length;
+
+        Hasher putInt(int value) {
+            return this.putLong(value);
+        }
+
+        Hasher putLong(long value) {
+            this.length++;
+            if (this.hasPending) {
+                this.mixBlock(this.pending, value);
+                this.hasPending = false;
+            } else {
+                this.pending = value;
+                this.hasPending = true;
+            }
+            return this;
+        }
+
+        Hasher putString(String value) {
+            int length = value.length();
+            this.putInt(length);
+
+            long word = 0;
+            for (int i = 0; i < length; i++) {
+                word = (word << 16) | value.charAt(i);
+                if ((i & 3) == 3) {
+                    this.putLong(word);
+                    word = 0;
+                }
+            }
+            if ((length & 3) != 0) {
+                this.putLong(word);
+            }
+            return this;
+        }
+
+        Hasher putFingerprint(Fingerprint fingerprint) {
+            return this.putLong(fingerprint.high).putLong(fingerprint.low);
+        }
+
+        private void mixBlock(long k1, long k2) {
+            this.h1 ^= mixK1(k1);
+
+            this.h1 = Long.rotateLeft(this.h1, 27);
+            this.h1 += this.h2;
+            this.h1 = this.h1 * 5 + 0x52dce729;
+
+            this.h2 ^= mixK2(k2);
+
+            this.h2 = Long.rotateLeft(this.h2, 31);
+            this.h2 += this.h1;
+            this.h2 = this.h2 * 5 + 0x38495ab5;
+        }
+
+        Fingerprint build() {
+            if (this.hasPending) {
+                this.h1 ^= mixK1(this.pending);
+            }
+
+            this.h1 ^= this.length;
+            this.h2 ^= this.length;
+
+            this.h1 += this.h2;
+            this.h2 += this.h1;
+
+            this.h1 = fmix64(this.h1);
+            this.h2 = fmix64(this.h2);
+
+            this.h1 += this.h2;
+            this.h2 += this.h1;
+
+            return new Fingerprint(this.h1, this.h2);
+        }
+
+        private static long mixK1(long k1) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            return k1;
+        }
+
+        private static long mixK2(long k2) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            return k2;
+        }
+
+        private static long fmix64(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -15,6 +15,44 @@ public interface FunctionExpression<T> extends ThunkExpression<T> {
 
     List<ThunkExpression<?>> getTerms();
 
+    /**
+     * @return the number of terms of this function
+     */
+    default int termCount() {
+        return this.getTerms().size();
+    }
+
+    /**
+     * Indexed access to the terms of this function, without creating a {@link List} of terms.
+     *
+     * @return the term at the given position
+     * @throws IndexOutOfBoundsException when the index is out of range
+     */
+    default ThunkExpression<?> term(int index) {
+        return this.getTerms().get(index);
+    }
+
+    /**
+     * Creates a function with the same operator and the given terms. When every given term is the same instance as the
+     * corresponding term of this function, this function itself is returned.
+     *
+     * @return a function with the given terms
+     */
+    @SuppressWarnings("unchecked")
+    default FunctionExpression<T> withTerms(@NonNull List<? extends ThunkExpression<?>> terms) {
+        int termCount = this.termCount();
+        if (terms.size() == termCount) {
+            int index = 0;
+            while (index < termCount && terms.get(index) == this.term(index)) {
+                index++;
+            }
+            if (index == termCount) {
+                return this;
+            }
+        }
+        return (FunctionExpression<T>) this.getOperator().create(List.copyOf(terms));
+    }
+
     default <R, C> R accept(ThunkExpressionVisitor<R, C> visitor, C context) {
         return visitor.visit(this, context);
     }
@@ -37,6 +75,14 @@ public interface FunctionExpression<T> extends ThunkExpression<T> {
         LESS_THAN("lt", Boolean.class, (FunctionExpressionFactory<Boolean>) Comparison::less),
         LESS_THEN_OR_EQUAL_TO("lte", Boolean.class, (FunctionExpressionFactory<Boolean>) Comparison::lessOrEquals),
 
+        // String operators
+        STARTS_WITH("startswith", Boolean.class, (FunctionExpressionFactory<Boolean>) Comparison::startsWith),
+        ENDS_WITH("endswith", Boolean.class, (FunctionExpressionFactory<Boolean>) Comparison::endsWith),
+        CONTAINS("contains", Boolean.class, (FunctionExpressionFactory<Boolean>) Comparison::contains),
+
+        // Set operators
+        IN("in", Boolean.class, (FunctionExpressionFactory<Boolean>) SetMembership::in),
+
         // Logical operator
         AND("and", Boolean.class, (FunctionExpressionFactory<Boolean>) LogicalOperation::uncheckedConjunction),
         OR("or", Boolean.class, (FunctionExpressionFactory<Boolean>) LogicalOperation::uncheckedDisjunction),
@@ -0,0 +1,43 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.util.List;
+
+/**
+ * A {@link ThunkExpressionVisitor} that is driven by {@link ThunkExpressionTraversal}, instead of recursing through
+ * {@link ThunkExpression#accept(ThunkExpressionVisitor, Object)} for every level of the expression tree.
+ * <p>
+ * Leaves of the tree are passed to the regular {@code visit} methods. For every {@link FunctionExpression}, the
+ * traversal first calls the pre-order hook {@link #enter(FunctionExpression, Object)}, then visits all terms and
+ * finally calls the post-order hook {@link #leave(FunctionExpression, List, Object)} with the results of the terms.
+ * <p>
+ * Because the traversal keeps its state on an explicit work stack, the depth of the expression tree is not limited by
+ * the size of the thread stack.
+ *
+ * @param <T> the result type of the visitor
+ * @param <C> the context type of the visitor
+ */
+public interface IterativeThunkExpressionVisitor<T, C> extends ThunkExpressionVisitor<T, C> {
+
+    @Override
+    default T visit(FunctionExpression<?> functionExpression, C context) {
+        return ThunkExpressionTraversal.traverse(functionExpression, this, context);
+    }
+
+    /**
+     * Pre-order hook, called before the terms of the function are visited.
+     *
+     * @return {@code null} to continue with the terms of the function, or a non-null result for this function to skip
+     * visiting its terms
+     */
+    default T enter(FunctionExpression<?> functionExpression, C context) {
+        return null;
+    }
+
+    /**
+     * Post-order hook, called after all terms of the function are visited.
+     *
+     * @param terms the results for each of the terms of the function, in order
+     * @return the result for this function
+     */
+    T leave(FunctionExpression<?> functionExpression, List<T> terms, C context);
+}
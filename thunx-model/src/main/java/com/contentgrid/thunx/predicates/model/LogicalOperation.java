@@ -1,25 +1,40 @@
 package com.contentgrid.thunx.predicates.model;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 import java.util.stream.Stream;
-import lombok.EqualsAndHashCode;
 
-@EqualsAndHashCode
 public class LogicalOperation implements BooleanOperation {
 
     private final Operator operator;
-    private List<ThunkExpression<Boolean>> terms;
+    private final ThunkExpression<?>[] terms;
+
+    // read-only view on the terms array, so getTerms() does not need to wrap or copy on every call
+    private final List<ThunkExpression<?>> termList;
+
+    private final Fingerprint fingerprint;
+
+    // computed on first use; racing threads compute the same immutable result
+    private ReferencedPaths referencedPaths;
 
     private LogicalOperation(Operator operator, Stream<ThunkExpression<Boolean>> terms) {
         this.operator = operator;
-        this.terms = terms.collect(Collectors.toUnmodifiableList());
+        this.terms = terms.peek(Objects::requireNonNull).toArray(ThunkExpression<?>[]::new);
+        this.termList = Collections.unmodifiableList(Arrays.asList(this.terms));
+        this.fingerprint = Fingerprint.ofFunction(operator, this.termList);
+    }
+
+    private static LogicalOperation create(Operator operator, Stream<ThunkExpression<Boolean>> terms) {
+        return ThunkExpressionInterner.intern(new LogicalOperation(operator, terms));
     }
 
     public static LogicalOperation disjunction(Stream<ThunkExpression<Boolean>> terms) {
-        return new LogicalOperation(Operator.OR, terms);
+        return create(Operator.OR, terms);
     }
 
     public static LogicalOperation disjunction(List<ThunkExpression<Boolean>> terms) {
@@ -35,7 +50,7 @@ public class LogicalOperation implements BooleanOperation {
     }
 
     public static LogicalOperation conjunction(Stream<ThunkExpression<Boolean>> terms) {
-        return new LogicalOperation(Operator.AND, terms);
+        return create(Operator.AND, terms);
     }
 
     public static LogicalOperation conjunction(ThunkExpression<Boolean>... terms) {
@@ -50,6 +65,75 @@ public class LogicalOperation implements BooleanOperation {
         return conjunction(terms.stream().map(expr -> (ThunkExpression<Boolean>) expr));
     }
 
+    /**
+     * Creates a disjunction, merging terms that are disjunctions themselves into a single n-ary disjunction.
+     * <p>
+     * {@code flatDisjunction(OR(a, b), c, OR(d, OR(e)))} results in {@code OR(a, b, c, d, e)}.
+     */
+    public static LogicalOperation flatDisjunction(Stream<ThunkExpression<Boolean>> terms) {
+        return create(Operator.OR, flatten(Operator.OR, terms));
+    }
+
+    public static LogicalOperation flatDisjunction(List<ThunkExpression<Boolean>> terms) {
+        return flatDisjunction(terms.stream());
+    }
+
+    public static LogicalOperation flatDisjunction(ThunkExpression<Boolean>... terms) {
+        return flatDisjunction(Arrays.stream(terms));
+    }
+
+    public static LogicalOperation uncheckedFlatDisjunction(List<ThunkExpression<?>> terms) {
+        return flatDisjunction(terms.stream().map(expr -> (ThunkExpression<Boolean>) expr));
+    }
+
+    /**
+     * Creates a conjunction, merging terms that are conjunctions themselves into a single n-ary conjunction.
+     * <p>
+     * {@code flatConjunction(AND(a, b), c, AND(d, AND(e)))} results in {@code AND(a, b, c, d, e)}.
+     */
+    public static LogicalOperation flatConjunction(Stream<ThunkExpression<Boolean>> terms) {
+        return create(Operator.AND, flatten(Operator.AND, terms));
+    }
+
+    public static LogicalOperation flatConjunction(List<ThunkExpression<Boolean>> terms) {
+        return flatConjunction(terms.stream());
+    }
+
+    public static LogicalOperation flatConjunction(ThunkExpression<Boolean>... terms) {
+        return flatConjunction(Arrays.stream(terms));
+    }
+
+    public static LogicalOperation uncheckedFlatConjunction(List<ThunkExpression<?>> terms) {
+        return flatConjunction(terms.stream().map(expr -> (ThunkExpression<Boolean>) expr));
+    }
+
+    /**
+     * Replaces terms with the given associative operator by their own terms, at any depth, in order. An empty
+     * operation is the identity element of the operator, so it is dropped entirely.
+     */
+    private static Stream<ThunkExpression<Boolean>> flatten(Operator operator, Stream<ThunkExpression<Boolean>> terms) {
+        var result = new ArrayList<ThunkExpression<Boolean>>();
+
+        var pending = new ArrayDeque<Iterator<? extends ThunkExpression<?>>>();
+        pending.push(terms.iterator());
+        while (!pending.isEmpty()) {
+            var iterator = pending.peek();
+            if (!iterator.hasNext()) {
+                pending.pop();
+                continue;
+            }
+
+            var term = iterator.next();
+            if (term instanceof LogicalOperation && ((LogicalOperation) term).operator == operator) {
+                pending.push(((LogicalOperation) term).termList.iterator());
+            } else {
+                result.add((ThunkExpression<Boolean>) term);
+            }
+        }
+
+        return result.stream();
+    }
+
     public static LogicalOperation uncheckedNegation(List<ThunkExpression<?>> terms) {
         if (terms.size() != 1) {
             throw new IllegalArgumentException("Expected 1 term, not "+terms.size());
@@ -58,7 +142,7 @@ public class LogicalOperation implements BooleanOperation {
     }
 
     public static LogicalOperation negation(ThunkExpression<Boolean> term) {
-        return new LogicalOperation(Operator.NOT, Stream.of(term));
+        return create(Operator.NOT, Stream.of(term));
     }
 
     @Override
@@ -68,7 +152,50 @@ public class LogicalOperation implements BooleanOperation {
 
     @Override
     public List<ThunkExpression<?>> getTerms() {
-        return Collections.unmodifiableList(this.terms);
+        return this.termList;
+    }
+
+    @Override
+    public int termCount() {
+        return this.terms.length;
+    }
+
+    @Override
+    public ThunkExpression<?> term(int index) {
+        return this.terms[index];
+    }
+
+    @Override
+    public Fingerprint getFingerprint() {
+        return this.fingerprint;
+    }
+
+    ReferencedPaths referencedPaths() {
+        var result = this.referencedPaths;
+        if (result == null) {
+            result = ReferencedPaths.analyze(this);
+            this.referencedPaths = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (LogicalOperation) o;
+        return this.fingerprint.equals(other.fingerprint)
+                && this.operator == other.operator
+                && Arrays.equals(this.terms, other.terms);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
     }
 
     @Override
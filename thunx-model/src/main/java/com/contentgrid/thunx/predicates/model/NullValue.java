@@ -9,6 +9,8 @@ class NullValue implements Scalar<Void> {
 
     protected static NullValue INSTANCE = new NullValue();
 
+    private static final Fingerprint FINGERPRINT = Fingerprint.ofNull();
+
     private NullValue() {
     }
 
@@ -21,4 +23,9 @@ class NullValue implements Scalar<Void> {
     public Class<? extends Void> getResultType() {
         return Void.class;
     }
+
+    @Override
+    public Fingerprint getFingerprint() {
+        return FINGERPRINT;
+    }
 }
@@ -1,17 +1,313 @@
 package com.contentgrid.thunx.predicates.model;
 
 import java.math.BigDecimal;
-import lombok.EqualsAndHashCode;
+import java.math.BigInteger;
+import java.math.MathContext;
 import lombok.Getter;
+import lombok.NonNull;
 
-@EqualsAndHashCode
+/**
+ * A numeric scalar.
+ * <p>
+ * Every number has one canonical representation, derived from its value as a {@link BigDecimal}: integral values
+ * without fraction digits that fit in a {@code long} are kept as a {@code long}, values that are the shortest decimal
+ * representation of a {@code double} are kept as a {@code double}, and other values are kept as a {@link BigDecimal}.
+ * So {@code 5L}, {@code new BigDecimal("5")} and {@code new BigDecimal("5E+1")} are all {@code long} values, and
+ * {@code 1.5D} equals {@code new BigDecimal("1.5")}, whichever way the number was created or decoded.
+ * <p>
+ * Structural equality ({@link #equals(Object)}) still takes the scale into account, like {@link BigDecimal} does:
+ * {@code 5L} and {@code 5.0D} are different scalars, just like {@code 1.0} and {@code 1.00}. Use
+ * {@link #compareNumerically(NumberValue)} and {@link #numericHashCode()} to compare numbers by value.
+ * <p>
+ * {@link #getValue()} always returns a {@link BigDecimal}, {@link #getNumber()} returns the internal representation.
+ */
 class NumberValue implements Scalar<Number> {
 
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    /**
+     * From this magnitude on, {@link Double#toString(double)} uses scientific notation, and integral values no
+     * longer have fraction digits.
+     */
+    private static final double SCIENTIFIC_NOTATION_THRESHOLD = 1e7;
+
+    private enum Kind {
+        LONG, DOUBLE, DECIMAL
+    }
+
+    private final Kind kind;
+
+    private final long longValue;
+
+    private final double doubleValue;
+
+    // always set for DECIMAL, computed on first use for the other kinds; racing threads compute equal values
+    private BigDecimal decimalValue;
+
     @Getter
-    private BigDecimal value;
+    private final Fingerprint fingerprint;
+
+    private NumberValue(Kind kind, long longValue, double doubleValue, BigDecimal decimalValue) {
+        this.kind = kind;
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+        this.decimalValue = decimalValue;
+        switch (kind) {
+            case LONG:
+                this.fingerprint = Fingerprint.ofNumber(longValue);
+                break;
+            case DOUBLE:
+                this.fingerprint = Fingerprint.ofNumber(doubleValue);
+                break;
+            default:
+                this.fingerprint = Fingerprint.ofNumber(decimalValue);
+        }
+    }
+
+    static NumberValue of(long value) {
+        return new NumberValue(Kind.LONG, value, 0, null);
+    }
+
+    /**
+     * @throws IllegalArgumentException when the number is NaN or infinite
+     */
+    static NumberValue of(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException(String.format("Number must be finite, but was %s", value));
+        }
+        if (Math.abs(value) >= SCIENTIFIC_NOTATION_THRESHOLD) {
+            var decimal = BigDecimal.valueOf(value);
+            if (decimal.scale() <= 0) {
+                return of(decimal);
+            }
+        }
+        // normalize -0.0, it is numerically equal to 0.0
+        return new NumberValue(Kind.DOUBLE, 0, value == 0.0 ? 0.0 : value, null);
+    }
 
-    NumberValue(BigDecimal value) {
-        this.value = value;
+    static NumberValue of(@NonNull BigDecimal value) {
+        if (value.scale() == 0 ? value.unscaledValue().bitLength() < Long.SIZE
+                : value.scale() < 0 && value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0) {
+            // keep a scale of 0 as the BigDecimal form, so 5E+1 and 50 are the same scalar
+            return new NumberValue(Kind.LONG, value.longValueExact(), 0, value.scale() == 0 ? value : null);
+        }
+        double approximation = value.doubleValue();
+        if (Double.isFinite(approximation) && BigDecimal.valueOf(approximation).equals(value)) {
+            return new NumberValue(Kind.DOUBLE, 0, approximation, value);
+        }
+        return new NumberValue(Kind.DECIMAL, 0, 0, value);
+    }
+
+    static NumberValue from(@NonNull Number number) {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return of(number.longValue());
+        } else if (number instanceof Double || number instanceof Float) {
+            return of(number.doubleValue());
+        } else if (number instanceof BigDecimal) {
+            return of((BigDecimal) number);
+        } else if (number instanceof BigInteger) {
+            return of(new BigDecimal((BigInteger) number));
+        }
+        return of(new BigDecimal(number.toString()));
+    }
+
+    /**
+     * @return the value as a {@link BigDecimal}; use {@link #getNumber()} to get the value without conversion
+     */
+    @Override
+    public BigDecimal getValue() {
+        return this.toBigDecimal();
+    }
+
+    /**
+     * @return the value as a {@link Long}, a {@link Double} or a {@link BigDecimal}, depending on the representation
+     */
+    public Number getNumber() {
+        switch (this.kind) {
+            case LONG:
+                return this.longValue;
+            case DOUBLE:
+                return this.doubleValue;
+            default:
+                return this.decimalValue;
+        }
+    }
+
+    BigDecimal toBigDecimal() {
+        var result = this.decimalValue;
+        if (result == null) {
+            result = this.kind == Kind.LONG ? BigDecimal.valueOf(this.longValue) : BigDecimal.valueOf(this.doubleValue);
+            this.decimalValue = result;
+        }
+        return result;
+    }
+
+    /**
+     * Compares the numeric values, regardless of their representation: {@code 1}, {@code 1.0D} and {@code 1.00} are
+     * all numerically equal. A {@code double} is taken at its shortest decimal representation, so {@code 0.1D} is
+     * numerically equal to {@code new BigDecimal("0.1")}.
+     */
+    int compareNumerically(@NonNull NumberValue other) {
+        if (this.kind == Kind.LONG && other.kind == Kind.LONG) {
+            return Long.compare(this.longValue, other.longValue);
+        } else if (this.kind == Kind.DOUBLE && other.kind == Kind.DOUBLE) {
+            return Double.compare(this.doubleValue, other.doubleValue);
+        } else if (this.kind == Kind.LONG && other.kind == Kind.DOUBLE) {
+            return compare(this.longValue, other.doubleValue);
+        } else if (this.kind == Kind.DOUBLE && other.kind == Kind.LONG) {
+            return -compare(other.longValue, this.doubleValue);
+        }
+        return this.toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    private static int compare(long left, double right) {
+        if (right >= 0x1p63) {
+            return -1;
+        } else if (right < -0x1p63) {
+            return 1;
+        }
+
+        // truncation is exact in this range, and so is the fraction that remains
+        long integral = (long) right;
+        if (left != integral) {
+            return Long.compare(left, integral);
+        }
+        double fraction = right - integral;
+        return fraction > 0 ? -1 : (fraction < 0 ? 1 : 0);
+    }
+
+    /**
+     * @return the exact sum; {@code long} values are added without boxing, unless the sum overflows
+     */
+    NumberValue add(@NonNull NumberValue other) {
+        if (this.kind == Kind.LONG && other.kind == Kind.LONG) {
+            long result = this.longValue + other.longValue;
+            // overflow when both operands have a different sign than the result
+            if (((this.longValue ^ result) & (other.longValue ^ result)) >= 0) {
+                return of(result);
+            }
+        }
+        return normalized(this.toBigDecimal().add(other.toBigDecimal()));
+    }
+
+    /**
+     * @return the exact difference; {@code long} values are subtracted without boxing, unless the difference overflows
+     */
+    NumberValue subtract(@NonNull NumberValue other) {
+        if (this.kind == Kind.LONG && other.kind == Kind.LONG) {
+            long result = this.longValue - other.longValue;
+            // overflow when the operands have a different sign, and the result has a different sign than the minuend
+            if (((this.longValue ^ other.longValue) & (this.longValue ^ result)) >= 0) {
+                return of(result);
+            }
+        }
+        return normalized(this.toBigDecimal().subtract(other.toBigDecimal()));
+    }
+
+    /**
+     * @return the exact product; {@code long} values are multiplied without boxing, unless the product overflows
+     */
+    NumberValue multiply(@NonNull NumberValue other) {
+        if (this.kind == Kind.LONG && other.kind == Kind.LONG) {
+            long high = Math.multiplyHigh(this.longValue, other.longValue);
+            long low = this.longValue * other.longValue;
+            if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+                return of(low);
+            }
+        }
+        return normalized(this.toBigDecimal().multiply(other.toBigDecimal()));
+    }
+
+    /**
+     * @return the quotient, exact when it has a finite decimal expansion and rounded to
+     * {@link MathContext#DECIMAL128} otherwise, or {@code null} when dividing by zero
+     */
+    NumberValue divide(@NonNull NumberValue other) {
+        if (other.signum() == 0) {
+            return null;
+        }
+        if (this.kind == Kind.LONG && other.kind == Kind.LONG && this.longValue % other.longValue == 0
+                && !(this.longValue == Long.MIN_VALUE && other.longValue == -1)) {
+            return of(this.longValue / other.longValue);
+        }
+
+        var dividend = this.toBigDecimal();
+        var divisor = other.toBigDecimal();
+        try {
+            return normalized(dividend.divide(divisor));
+        } catch (ArithmeticException ex) {
+            // non-terminating decimal expansion
+            return normalized(dividend.divide(divisor, MathContext.DECIMAL128));
+        }
+    }
+
+    /**
+     * @return the remainder of the truncating division, which has the sign of the dividend, or {@code null} when one
+     * of the operands is not an integer, or when dividing by zero
+     */
+    NumberValue remainder(@NonNull NumberValue other) {
+        if (!this.isIntegral() || !other.isIntegral() || other.signum() == 0) {
+            return null;
+        }
+        if (this.kind == Kind.LONG && other.kind == Kind.LONG) {
+            return of(this.longValue % other.longValue);
+        }
+        return normalized(this.toBigDecimal().remainder(other.toBigDecimal()));
+    }
+
+    private int signum() {
+        switch (this.kind) {
+            case LONG:
+                return Long.signum(this.longValue);
+            case DOUBLE:
+                return (int) Math.signum(this.doubleValue);
+            default:
+                return this.decimalValue.signum();
+        }
+    }
+
+    private boolean isIntegral() {
+        switch (this.kind) {
+            case LONG:
+                return true;
+            case DOUBLE:
+                return this.doubleValue == Math.rint(this.doubleValue);
+            default:
+                return this.decimalValue.signum() == 0 || this.decimalValue.stripTrailingZeros().scale() <= 0;
+        }
+    }
+
+    /**
+     * Results of arithmetic without trailing zeros, so {@code 2.5 * 2} is the integer {@code 5}, not {@code 5.0}
+     */
+    private static NumberValue normalized(BigDecimal value) {
+        var stripped = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        return of(stripped.scale() < 0 ? stripped.setScale(0) : stripped);
+    }
+
+    /**
+     * A hash code that is consistent with {@link #compareNumerically(NumberValue)}: numerically equal values have the
+     * same numeric hash code, whatever their representation.
+     */
+    int numericHashCode() {
+        switch (this.kind) {
+            case LONG:
+                return Long.hashCode(this.longValue);
+            case DOUBLE:
+                if (this.doubleValue == Math.rint(this.doubleValue)
+                        && this.doubleValue >= -0x1p63 && this.doubleValue < 0x1p63) {
+                    return Long.hashCode((long) this.doubleValue);
+                }
+                return Double.hashCode(this.doubleValue);
+            default:
+                var stripped = this.decimalValue.stripTrailingZeros();
+                if (stripped.scale() <= 0 && stripped.compareTo(LONG_MIN) >= 0 && stripped.compareTo(LONG_MAX) <= 0) {
+                    return Long.hashCode(stripped.longValue());
+                }
+                // numerically equal values round to the same double
+                return Double.hashCode(this.decimalValue.doubleValue() + 0.0);
+        }
     }
 
     @Override
@@ -19,8 +315,38 @@ class NumberValue implements Scalar<Number> {
         return Number.class;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (NumberValue) o;
+        if (this.kind != other.kind || !this.fingerprint.equals(other.fingerprint)) {
+            return false;
+        }
+        switch (this.kind) {
+            case LONG:
+                return this.longValue == other.longValue;
+            case DOUBLE:
+                return Double.compare(this.doubleValue, other.doubleValue) == 0;
+            default:
+                return this.decimalValue.equals(other.decimalValue);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
+    }
+
     @Override
     public String toString() {
-        return this.getValue().toString();
+        if (this.kind == Kind.LONG) {
+            return Long.toString(this.longValue);
+        }
+        return this.toBigDecimal().toString();
     }
 }
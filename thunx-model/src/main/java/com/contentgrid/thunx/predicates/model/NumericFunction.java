@@ -1,11 +1,10 @@
 package com.contentgrid.thunx.predicates.model;
 
 import java.util.List;
+import java.util.Objects;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
 public class NumericFunction implements FunctionExpression<Number> {
 
     @Getter
@@ -20,9 +19,41 @@ public class NumericFunction implements FunctionExpression<Number> {
     @NonNull
     private final ThunkExpression<?> rightTerm;
 
+    private final List<ThunkExpression<?>> terms;
+
+    @Getter
+    private final Fingerprint fingerprint;
+
+    // computed on first use; racing threads compute the same immutable result
+    private ReferencedPaths referencedPaths;
+
+    public NumericFunction(@NonNull Operator operator, @NonNull ThunkExpression<?> leftTerm,
+            @NonNull ThunkExpression<?> rightTerm) {
+        this.operator = operator;
+        this.leftTerm = leftTerm;
+        this.rightTerm = rightTerm;
+        this.terms = List.of(leftTerm, rightTerm);
+        this.fingerprint = Fingerprint.ofFunction(operator, leftTerm, rightTerm);
+    }
+
+    private static NumericFunction create(Operator operator, ThunkExpression<?> left, ThunkExpression<?> right) {
+        return ThunkExpressionInterner.intern(new NumericFunction(operator, left, right));
+    }
+
     @Override
     public List<ThunkExpression<?>> getTerms() {
-        return List.of(this.leftTerm, this.rightTerm);
+        return this.terms;
+    }
+
+    @Override
+    public int termCount() {
+        return 2;
+    }
+
+    @Override
+    public ThunkExpression<?> term(int index) {
+        Objects.checkIndex(index, 2);
+        return index == 0 ? this.leftTerm : this.rightTerm;
     }
 
     @Override
@@ -31,7 +62,7 @@ public class NumericFunction implements FunctionExpression<Number> {
     }
 
     public static NumericFunction multiply(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new NumericFunction(Operator.MULTIPLY, left, right);
+        return create(Operator.MULTIPLY, left, right);
     }
 
     public static NumericFunction multiply(List<ThunkExpression<?>> terms) {
@@ -45,7 +76,7 @@ public class NumericFunction implements FunctionExpression<Number> {
     }
 
     public static NumericFunction plus(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new NumericFunction(Operator.PLUS, left, right);
+        return create(Operator.PLUS, left, right);
     }
 
 
@@ -66,7 +97,7 @@ public class NumericFunction implements FunctionExpression<Number> {
     }
 
     public static NumericFunction divide(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new NumericFunction(Operator.DIVIDE, left, right);
+        return create(Operator.DIVIDE, left, right);
     }
 
     public static NumericFunction minus(@NonNull List<ThunkExpression<?>> terms) {
@@ -76,7 +107,7 @@ public class NumericFunction implements FunctionExpression<Number> {
     }
 
     public static NumericFunction minus(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new NumericFunction(Operator.MINUS, left, right);
+        return create(Operator.MINUS, left, right);
     }
 
     public static NumericFunction modulus(@NonNull List<ThunkExpression<?>> terms) {
@@ -86,7 +117,36 @@ public class NumericFunction implements FunctionExpression<Number> {
     }
 
     public static NumericFunction modulus(ThunkExpression<?> left, ThunkExpression<?> right) {
-        return new NumericFunction(Operator.MODULUS, left, right);
+        return create(Operator.MODULUS, left, right);
+    }
+
+    ReferencedPaths referencedPaths() {
+        var result = this.referencedPaths;
+        if (result == null) {
+            result = ReferencedPaths.analyze(this);
+            this.referencedPaths = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (NumericFunction) o;
+        return this.fingerprint.equals(other.fingerprint)
+                && this.operator == other.operator
+                && this.leftTerm.equals(other.leftTerm)
+                && this.rightTerm.equals(other.rightTerm);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
     }
 
     private static void assertHasSize(List<?> terms, int expectedSize) {
@@ -0,0 +1,113 @@
+package com.contentgrid.thunx.predicates.model;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+
+/**
+ * The {@link SymbolicReference symbolic references} in a {@link ThunkExpression}, with the operators that are applied
+ * to each of them.
+ * <p>
+ * For {@code entity.owner == 'alice' OR entity.level > 3}, the referenced paths are {@code entity.owner} with
+ * {@link Operator#EQUALS} and {@code entity.level} with {@link Operator#GREATER_THAN}. A reference that is not a term of
+ * any function has no operators.
+ * <p>
+ * The analysis of a function expression is memoized on the expression itself: analyzing it again returns the same
+ * result, without walking the expression.
+ */
+@EqualsAndHashCode
+public final class ReferencedPaths {
+
+    private final Map<SymbolicReference, Set<Operator>> operators;
+
+    private ReferencedPaths(Map<SymbolicReference, Set<Operator>> operators) {
+        this.operators = operators;
+    }
+
+    public static ReferencedPaths of(@NonNull ThunkExpression<?> expression) {
+        if (expression instanceof Comparison) {
+            return ((Comparison) expression).referencedPaths();
+        } else if (expression instanceof LogicalOperation) {
+            return ((LogicalOperation) expression).referencedPaths();
+        } else if (expression instanceof SetMembership) {
+            return ((SetMembership) expression).referencedPaths();
+        } else if (expression instanceof NumericFunction) {
+            return ((NumericFunction) expression).referencedPaths();
+        }
+        return analyze(expression);
+    }
+
+    static ReferencedPaths analyze(ThunkExpression<?> expression) {
+        var operators = new LinkedHashMap<SymbolicReference, Set<Operator>>();
+        if (expression instanceof SymbolicReference) {
+            operators.put((SymbolicReference) expression, EnumSet.noneOf(Operator.class));
+        }
+
+        var pending = new ArrayDeque<FunctionExpression<?>>();
+        if (expression instanceof FunctionExpression<?>) {
+            pending.push((FunctionExpression<?>) expression);
+        }
+        while (!pending.isEmpty()) {
+            var function = pending.pop();
+            for (int i = 0; i < function.termCount(); i++) {
+                var term = function.term(i);
+                if (term instanceof SymbolicReference) {
+                    operators.computeIfAbsent((SymbolicReference) term, ref -> EnumSet.noneOf(Operator.class))
+                            .add(function.getOperator());
+                } else if (term instanceof FunctionExpression<?>) {
+                    pending.push((FunctionExpression<?>) term);
+                }
+            }
+        }
+
+        operators.replaceAll((reference, ops) -> Collections.unmodifiableSet(ops));
+        return new ReferencedPaths(Collections.unmodifiableMap(operators));
+    }
+
+    /**
+     * @return all referenced paths, mapped to the operators that are applied to them
+     */
+    public Map<SymbolicReference, Set<Operator>> asMap() {
+        return this.operators;
+    }
+
+    public Set<SymbolicReference> getReferences() {
+        return this.operators.keySet();
+    }
+
+    /**
+     * @return the referenced paths of the given subject, for example {@code entity}
+     */
+    public Set<SymbolicReference> getReferences(@NonNull String subject) {
+        var result = new LinkedHashSet<SymbolicReference>();
+        for (var reference : this.operators.keySet()) {
+            if (subject.equals(reference.getSubject().getName())) {
+                result.add(reference);
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * @return the operators that are applied to the given reference, or an empty set if the reference is not used
+     */
+    public Set<Operator> getOperators(@NonNull SymbolicReference reference) {
+        return this.operators.getOrDefault(reference, Set.of());
+    }
+
+    public boolean isEmpty() {
+        return this.operators.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return this.operators.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.contentgrid.thunx.predicates.model;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 public interface Scalar<T> extends ThunkExpression<T> {
 
@@ -11,23 +12,30 @@ public interface Scalar<T> extends ThunkExpression<T> {
     }
 
     static NumberValue of(BigDecimal number) {
-        return new NumberValue(number);
+        return ThunkExpressionInterner.intern(NumberValue.of(number));
     }
 
+    /**
+     * @throws IllegalArgumentException when the number is NaN or infinite
+     */
     static NumberValue of(double number) {
-        return of(BigDecimal.valueOf(number));
+        return ThunkExpressionInterner.intern(NumberValue.of(number));
     }
 
     static NumberValue of(long number) {
-        return of(BigDecimal.valueOf(number));
+        return ThunkExpressionInterner.intern(NumberValue.of(number));
     }
 
     static StringValue of(String value) {
-        return new StringValue(value);
+        return ThunkExpressionInterner.intern(new StringValue(value));
+    }
+
+    static TimestampValue of(Instant value) {
+        return ThunkExpressionInterner.intern(new TimestampValue(value));
     }
 
     static BooleanValue of(boolean value) {
-        return new BooleanValue(value);
+        return ThunkExpressionInterner.intern(new BooleanValue(value));
     }
 
     static NullValue nullValue() {
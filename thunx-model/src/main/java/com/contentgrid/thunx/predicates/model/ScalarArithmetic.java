@@ -0,0 +1,61 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.math.MathContext;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * Arithmetic on numeric {@link Scalar scalars}.
+ * <p>
+ * Addition, subtraction and multiplication are exact, whatever the representation of the numbers: integers are
+ * computed as {@code long} values while they fit, and as {@link java.math.BigDecimal} otherwise. A {@code double} is
+ * taken at its shortest decimal representation, so {@code 0.1 + 0.2} is {@code 0.3}. A quotient without a finite
+ * decimal expansion is rounded to {@link MathContext#DECIMAL128}.
+ * <p>
+ * An operation is undefined, and results in an empty optional, when one of the operands is not a number, when dividing
+ * by zero, or for the remainder of a number that is not an integer.
+ */
+public final class ScalarArithmetic {
+
+    private ScalarArithmetic() {
+    }
+
+    public static Optional<Scalar<Number>> plus(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        if (!ScalarComparison.isNumber(left) || !ScalarComparison.isNumber(right)) {
+            return Optional.empty();
+        }
+        return result(ScalarComparison.toNumberValue(left).add(ScalarComparison.toNumberValue(right)));
+    }
+
+    public static Optional<Scalar<Number>> minus(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        if (!ScalarComparison.isNumber(left) || !ScalarComparison.isNumber(right)) {
+            return Optional.empty();
+        }
+        return result(ScalarComparison.toNumberValue(left).subtract(ScalarComparison.toNumberValue(right)));
+    }
+
+    public static Optional<Scalar<Number>> multiply(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        if (!ScalarComparison.isNumber(left) || !ScalarComparison.isNumber(right)) {
+            return Optional.empty();
+        }
+        return result(ScalarComparison.toNumberValue(left).multiply(ScalarComparison.toNumberValue(right)));
+    }
+
+    public static Optional<Scalar<Number>> divide(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        if (!ScalarComparison.isNumber(left) || !ScalarComparison.isNumber(right)) {
+            return Optional.empty();
+        }
+        return result(ScalarComparison.toNumberValue(left).divide(ScalarComparison.toNumberValue(right)));
+    }
+
+    public static Optional<Scalar<Number>> modulus(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        if (!ScalarComparison.isNumber(left) || !ScalarComparison.isNumber(right)) {
+            return Optional.empty();
+        }
+        return result(ScalarComparison.toNumberValue(left).remainder(ScalarComparison.toNumberValue(right)));
+    }
+
+    private static Optional<Scalar<Number>> result(NumberValue value) {
+        return Optional.ofNullable(ThunkExpressionInterner.intern(value));
+    }
+}
@@ -0,0 +1,112 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.time.Instant;
+import java.util.Objects;
+import lombok.NonNull;
+
+/**
+ * Compares {@link Scalar scalars} by value, as opposed to {@link Scalar#equals(Object) structural equality}.
+ * <p>
+ * Numbers are compared numerically, regardless of their representation: {@code Scalar.of(1)},
+ * {@code Scalar.of(1.0)} and {@code Scalar.of(new BigDecimal("1.00"))} are structurally different, but they all have
+ * the same value. Other scalars are compared by {@link Object#equals(Object) equality} of their values.
+ * <p>
+ * Numbers, strings and timestamps can also be ordered, with {@link #compare(Scalar, Scalar)}. Strings are ordered by
+ * code point, which is the byte order of their UTF-8 encoding, like string comparison in Rego.
+ */
+public final class ScalarComparison {
+
+    private ScalarComparison() {
+    }
+
+    public static boolean isNumber(@NonNull Scalar<?> scalar) {
+        return scalar instanceof NumberValue || scalar.getValue() instanceof Number;
+    }
+
+    public static boolean areEqual(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        if (isNumber(left) && isNumber(right)) {
+            return toNumberValue(left).compareNumerically(toNumberValue(right)) == 0;
+        }
+        return Objects.equals(left.getValue(), right.getValue());
+    }
+
+    /**
+     * A hash code that is consistent with {@link #areEqual(Scalar, Scalar)}.
+     */
+    public static int hashCode(@NonNull Scalar<?> scalar) {
+        if (isNumber(scalar)) {
+            return toNumberValue(scalar).numericHashCode();
+        }
+        return Objects.hashCode(scalar.getValue());
+    }
+
+    /**
+     * Compares two numeric scalars by value.
+     *
+     * @throws IllegalArgumentException when one of the scalars is not a number
+     */
+    public static int compareNumbers(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        return toNumberValue(left).compareNumerically(toNumberValue(right));
+    }
+
+    /**
+     * @return whether the scalars can be ordered with {@link #compare(Scalar, Scalar)}: both are numbers, strings or
+     * timestamps
+     */
+    public static boolean isComparable(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        if (isNumber(left)) {
+            return isNumber(right);
+        }
+        var value = left.getValue();
+        if (value instanceof String) {
+            return right.getValue() instanceof String;
+        } else if (value instanceof Instant) {
+            return right.getValue() instanceof Instant;
+        }
+        return false;
+    }
+
+    /**
+     * Orders two numbers, two strings or two timestamps.
+     *
+     * @throws IllegalArgumentException when the scalars are not {@link #isComparable(Scalar, Scalar) comparable}
+     */
+    public static int compare(@NonNull Scalar<?> left, @NonNull Scalar<?> right) {
+        if (!isComparable(left, right)) {
+            throw new IllegalArgumentException(String.format("Scalars '%s' and '%s' can not be compared", left, right));
+        }
+
+        if (isNumber(left)) {
+            return compareNumbers(left, right);
+        } else if (left.getValue() instanceof String) {
+            return compareCodePoints((String) left.getValue(), (String) right.getValue());
+        }
+        return ((Instant) left.getValue()).compareTo((Instant) right.getValue());
+    }
+
+    private static int compareCodePoints(String left, String right) {
+        int i = 0;
+        int j = 0;
+        while (i < left.length() && j < right.length()) {
+            int leftCodePoint = left.codePointAt(i);
+            int rightCodePoint = right.codePointAt(j);
+            if (leftCodePoint != rightCodePoint) {
+                return Integer.compare(leftCodePoint, rightCodePoint);
+            }
+            i += Character.charCount(leftCodePoint);
+            j += Character.charCount(rightCodePoint);
+        }
+        return Boolean.compare(i < left.length(), j < right.length());
+    }
+
+    static NumberValue toNumberValue(Scalar<?> scalar) {
+        if (scalar instanceof NumberValue) {
+            return (NumberValue) scalar;
+        }
+        var value = scalar.getValue();
+        if (value instanceof Number) {
+            return NumberValue.from((Number) value);
+        }
+        throw new IllegalArgumentException(String.format("Scalar '%s' is not a number", scalar));
+    }
+}
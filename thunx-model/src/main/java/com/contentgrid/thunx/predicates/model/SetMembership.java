@@ -0,0 +1,134 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import lombok.NonNull;
+
+/**
+ * Set membership: the first term is equal to one of the other terms.
+ * <p>
+ * {@code IN(entity.department, 'HR', 'Sales')} is equivalent to
+ * {@code OR(EQ(entity.department, 'HR'), EQ(entity.department, 'Sales'))}, but it is more compact and it can be
+ * translated into a single {@code IN} list in a database query.
+ */
+public class SetMembership implements BooleanOperation {
+
+    private final ThunkExpression<?>[] terms;
+
+    // read-only view on the terms array, so getTerms() does not need to wrap or copy on every call
+    private final List<ThunkExpression<?>> termList;
+
+    private final Fingerprint fingerprint;
+
+    // computed on first use; racing threads compute the same immutable result
+    private ReferencedPaths referencedPaths;
+
+    private SetMembership(ThunkExpression<?>[] terms) {
+        for (var term : terms) {
+            Objects.requireNonNull(term, "term");
+        }
+        this.terms = terms;
+        this.termList = Collections.unmodifiableList(Arrays.asList(this.terms));
+        this.fingerprint = Fingerprint.ofFunction(Operator.IN, this.termList);
+    }
+
+    private static SetMembership create(ThunkExpression<?>[] terms) {
+        if (terms.length < 2) {
+            throw new IllegalArgumentException("Expected 2 or more terms, but got " + terms.length);
+        }
+        return ThunkExpressionInterner.intern(new SetMembership(terms));
+    }
+
+    /**
+     * @param terms the term to look up, followed by the members of the set
+     */
+    public static SetMembership in(@NonNull List<ThunkExpression<?>> terms) {
+        return create(terms.toArray(new ThunkExpression<?>[0]));
+    }
+
+    public static SetMembership in(@NonNull ThunkExpression<?> term, @NonNull List<? extends ThunkExpression<?>> values) {
+        var terms = new ThunkExpression<?>[values.size() + 1];
+        terms[0] = term;
+        for (int i = 0; i < values.size(); i++) {
+            terms[i + 1] = values.get(i);
+        }
+        return create(terms);
+    }
+
+    public static SetMembership in(@NonNull ThunkExpression<?> term, ThunkExpression<?>... values) {
+        return in(term, Arrays.asList(values));
+    }
+
+    /**
+     * @return the term that is looked up in the set
+     */
+    public ThunkExpression<?> getTerm() {
+        return this.terms[0];
+    }
+
+    /**
+     * @return the members of the set
+     */
+    public List<ThunkExpression<?>> getValues() {
+        return this.termList.subList(1, this.terms.length);
+    }
+
+    @Override
+    public Operator getOperator() {
+        return Operator.IN;
+    }
+
+    @Override
+    public List<ThunkExpression<?>> getTerms() {
+        return this.termList;
+    }
+
+    @Override
+    public int termCount() {
+        return this.terms.length;
+    }
+
+    @Override
+    public ThunkExpression<?> term(int index) {
+        return this.terms[index];
+    }
+
+    @Override
+    public Fingerprint getFingerprint() {
+        return this.fingerprint;
+    }
+
+    ReferencedPaths referencedPaths() {
+        var result = this.referencedPaths;
+        if (result == null) {
+            result = ReferencedPaths.analyze(this);
+            this.referencedPaths = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (SetMembership) o;
+        return this.fingerprint.equals(other.fingerprint)
+                && Arrays.equals(this.terms, other.terms);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.toDebugString();
+    }
+}
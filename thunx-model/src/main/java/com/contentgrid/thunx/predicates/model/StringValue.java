@@ -1,17 +1,37 @@
 package com.contentgrid.thunx.predicates.model;
 
-import lombok.EqualsAndHashCode;
+import java.util.Objects;
 import lombok.Getter;
 
-@EqualsAndHashCode
 class StringValue implements Scalar<String> {
 
     @Getter
-    private String value;
+    private final String value;
+
+    @Getter
+    private final Fingerprint fingerprint;
 
     protected StringValue(String value) {
 
         this.value = value;
+        this.fingerprint = value == null ? Fingerprint.ofNull() : Fingerprint.ofString(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (StringValue) o;
+        return this.fingerprint.equals(other.fingerprint) && Objects.equals(this.value, other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
     }
 
     @Override
@@ -2,65 +2,148 @@ package com.contentgrid.thunx.predicates.model;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.Data;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
-@EqualsAndHashCode
-@RequiredArgsConstructor
+/**
+ * Reference to a (nested) attribute of a subject, for example {@code entity.owner.name}.
+ * <p>
+ * References are interned: all factory methods return a single shared instance per distinct path, as long as that
+ * path is in use. The dotted form of the path, its hash and its elements are computed once, when the path is first
+ * created, so comparing references, using them as map keys and printing them is cheap.
+ */
 public class SymbolicReference implements ThunkExpression<Object> {
 
+    private static final WeakInterner<SymbolicReference> PATHS = new WeakInterner<>();
+
     private final SymbolicRefSubject subject;
 
     public Variable getSubject() {
         return this.subject.getVariable();
     }
 
+    private final PathElement[] elements;
+
     @Getter
     private final List<PathElement> path;
 
-    public String toPath() {
-        if (path.isEmpty()) {
-            return subject.toPath();
+    private final String dottedPath;
+
+    @Getter
+    private final Fingerprint fingerprint;
+
+    private SymbolicReference(@NonNull SymbolicRefSubject subject, @NonNull List<PathElement> path) {
+        this.subject = subject;
+        this.elements = path.toArray(new PathElement[0]);
+        for (var element : this.elements) {
+            Objects.requireNonNull(element, "path element");
         }
+        this.path = Collections.unmodifiableList(Arrays.asList(this.elements));
+        this.dottedPath = toDottedPath(subject, this.elements);
+        this.fingerprint = Fingerprint.ofReference(subject.getVariable(), this.path);
+    }
 
-        return String.format("%s.%s",
-                subject, path.stream().map(Object::toString).collect(Collectors.joining(".")));
+    private static SymbolicReference create(SymbolicRefSubject subject, List<PathElement> path) {
+        return PATHS.intern(new SymbolicReference(subject, path));
     }
 
-    @Override
-    public String toString() {
-        if (path.isEmpty()) {
+    private static String toDottedPath(SymbolicRefSubject subject, PathElement[] elements) {
+        if (elements.length == 0) {
             return subject.toPath();
         }
 
-        return String.format("%s.%s", subject,
-                path.stream().map(Object::toString).collect(Collectors.joining(".")));
+        var result = new StringBuilder(subject.toPath());
+        for (var element : elements) {
+            result.append('.').append(element);
+        }
+        return result.toString();
+    }
+
+    /**
+     * @return the number of elements in the path, not counting the subject
+     */
+    public int pathLength() {
+        return this.elements.length;
+    }
+
+    /**
+     * Indexed access to the path elements, without going through {@link #getPath()}.
+     *
+     * @throws IndexOutOfBoundsException when the index is out of range
+     */
+    public PathElement pathElement(int index) {
+        return this.elements[index];
+    }
+
+    /**
+     * @return the variables of the {@link VariablePathElement path variables} in this path, in order
+     */
+    public List<Variable> getPathVariables() {
+        List<Variable> result = List.of();
+        for (var element : this.elements) {
+            if (element instanceof VariablePathElement) {
+                if (result.isEmpty()) {
+                    result = new ArrayList<>();
+                }
+                result.add(((VariablePathElement) element).getVariable());
+            }
+        }
+        return result.isEmpty() ? result : Collections.unmodifiableList(result);
+    }
+
+    public String toPath() {
+        return this.dottedPath;
+    }
+
+    @Override
+    public String toString() {
+        return this.dottedPath;
     }
 
     public <R, C> R accept(ThunkExpressionVisitor<R, C> visitor, C context) {
         return visitor.visit(this, context);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (SymbolicReference) o;
+        return this.fingerprint.equals(other.fingerprint)
+                && this.dottedPath.equals(other.dottedPath)
+                && this.subject.equals(other.subject)
+                && Arrays.equals(this.elements, other.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
+    }
+
     public static SymbolicReference of(String variable, PathElement... path) {
         return of(Variable.named(variable), path);
     }
 
     public static SymbolicReference of(@NonNull Variable variable, PathElement... path) {
-        return new SymbolicReference(new SymbolicRefSubject(variable), Arrays.asList(path));
+        return create(new SymbolicRefSubject(variable), Arrays.asList(path));
     }
 
     public static SymbolicReference of(@NonNull String varName, Consumer<PathBuilder> pathCallback) {
         var pathBuilder = new PathBuilder();
         pathCallback.accept(pathBuilder);
 
-        return new SymbolicReference(new SymbolicRefSubject(Variable.named(varName)), pathBuilder.getPath());
+        return create(new SymbolicRefSubject(Variable.named(varName)), pathBuilder.getPath());
     }
 
     /**
@@ -78,7 +161,7 @@ public class SymbolicReference implements ThunkExpression<Object> {
     }
 
     public static SymbolicReference of(@NonNull Variable variable, @NonNull List<PathElement> path) {
-        return new SymbolicReference(new SymbolicRefSubject(variable), path);
+        return create(new SymbolicRefSubject(variable), path);
     }
 
     public static PathElement path(String path) {
@@ -167,10 +250,17 @@ public class SymbolicReference implements ThunkExpression<Object> {
         }
     }
 
+    /**
+     * A path variable is an existential quantifier over the elements of the collection at the preceding path element:
+     * {@code entity.tags.$x == 'public'} holds when some element of {@code entity.tags} is equal to {@code 'public'}.
+     * <p>
+     * This is what a policy that iterates over a collection, like {@code input.entity.tags[_] == "public"}, is
+     * partially evaluated into.
+     */
     @Data
     public static class VariablePathElement implements PathElement {
 
-        private Variable variable;
+        private final Variable variable;
 
         VariablePathElement(String varName) {
             this.variable = Variable.named(varName);
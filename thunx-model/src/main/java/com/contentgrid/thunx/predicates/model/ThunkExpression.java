@@ -15,6 +15,14 @@ public interface ThunkExpression<T> {
 
     <R, C> R accept(ThunkExpressionVisitor<R, C> visitor, C context);
 
+    /**
+     * Returns the structural {@link Fingerprint} of this expression. Expressions from the model compute their
+     * fingerprint once, when they are created.
+     */
+    default Fingerprint getFingerprint() {
+        return Fingerprint.of(this);
+    }
+
     static <R> Optional<Scalar<R>> maybeScalar(ThunkExpression<R> expression) {
         if(expression instanceof Scalar) {
             return Optional.of((Scalar<R>) expression);
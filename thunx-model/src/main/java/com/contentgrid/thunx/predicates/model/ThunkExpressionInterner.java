@@ -0,0 +1,58 @@
+package com.contentgrid.thunx.predicates.model;
+
+/**
+ * Opt-in hash-consing of {@link ThunkExpression} nodes.
+ * <p>
+ * When interning is enabled, the static factory methods of the expression model ({@link Scalar#of(String)},
+ * {@link Comparison#areEqual(ThunkExpression, ThunkExpression)}, {@link LogicalOperation#conjunction(ThunkExpression[])}, ...)
+ * return a single shared instance for all structurally identical expressions. Because the terms of a shared node are
+ * shared themselves, equality checks between interned expressions are resolved by the identity check, without walking
+ * the subtrees.
+ * <p>
+ * Canonical instances are only weakly referenced, they are reclaimed by the garbage collector as soon as no
+ * expression uses them anymore.
+ * <p>
+ * Interning is disabled by default. It can be enabled with the {@code thunx.model.interning} system property, or
+ * programmatically with {@link #enable()}.
+ */
+public final class ThunkExpressionInterner {
+
+    private static volatile boolean enabled = Boolean.getBoolean("thunx.model.interning");
+
+    private static final WeakInterner<ThunkExpression<?>> canonical = new WeakInterner<>();
+
+    private ThunkExpressionInterner() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+        canonical.clear();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the canonical instance that is structurally equal to the given expression, registering the given
+     * expression as the canonical instance if there is none yet. When interning is disabled, the expression is
+     * returned as-is.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends ThunkExpression<?>> E intern(E expression) {
+        if (!enabled || expression == null) {
+            return expression;
+        }
+
+        // equals() implementations of the model are class-strict, so a canonical instance has the same type
+        return (E) canonical.intern(expression);
+    }
+
+    static int size() {
+        return canonical.size();
+    }
+}
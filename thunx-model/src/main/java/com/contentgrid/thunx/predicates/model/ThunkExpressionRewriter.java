@@ -0,0 +1,63 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.util.List;
+
+/**
+ * An {@link IterativeThunkExpressionVisitor} that transforms an expression into another expression, sharing all
+ * subtrees that are not changed.
+ * <p>
+ * Terms are rewritten bottom-up. A function is only rebuilt when at least one of its terms changed, and when
+ * {@link #rewrite(FunctionExpression, Object)} produces an expression that is structurally equal to its input, the
+ * input instance is kept. Rewriting an expression without any changes returns the very same instance, so rewriters
+ * can be chained without allocating a copy of the tree for every pass, and identity-based caches keep working.
+ * <p>
+ * Leaves are returned as-is by default. Run a rewriter with {@code expression.accept(rewriter, context)}.
+ *
+ * @param <C> the context type of the rewriter
+ */
+public interface ThunkExpressionRewriter<C> extends IterativeThunkExpressionVisitor<ThunkExpression<?>, C> {
+
+    @Override
+    default ThunkExpression<?> visit(Scalar<?> scalar, C context) {
+        return scalar;
+    }
+
+    @Override
+    default ThunkExpression<?> visit(SymbolicReference symbolicReference, C context) {
+        return symbolicReference;
+    }
+
+    @Override
+    default ThunkExpression<?> visit(Variable variable, C context) {
+        return variable;
+    }
+
+    /**
+     * Rewrites a single function, after its terms are rewritten.
+     *
+     * @param functionExpression the function with its rewritten terms; this is the original instance when none of the
+     * terms changed
+     * @return the rewritten expression, or the given function to leave it unchanged
+     */
+    default ThunkExpression<?> rewrite(FunctionExpression<?> functionExpression, C context) {
+        return functionExpression;
+    }
+
+    @Override
+    default ThunkExpression<?> leave(FunctionExpression<?> functionExpression, List<ThunkExpression<?>> terms,
+            C context) {
+        var function = functionExpression.withTerms(terms);
+        return shareUnchanged(function, this.rewrite(function, context));
+    }
+
+    /**
+     * @return the original expression when the rewritten expression is structurally equal to it, the rewritten
+     * expression otherwise
+     */
+    static ThunkExpression<?> shareUnchanged(ThunkExpression<?> original, ThunkExpression<?> rewritten) {
+        if (rewritten == original || rewritten.equals(original)) {
+            return original;
+        }
+        return rewritten;
+    }
+}
@@ -0,0 +1,106 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import lombok.NonNull;
+
+/**
+ * Stack-safe traversal of {@link ThunkExpression} trees for an {@link IterativeThunkExpressionVisitor}.
+ * <p>
+ * The traversal does not recurse: pending functions are kept on an explicit work stack and intermediate results on
+ * a value stack. This bounds the thread stack usage, independent of the depth of the expression, and avoids the
+ * double dispatch through {@link ThunkExpression#accept(ThunkExpressionVisitor, Object)} for every function.
+ */
+public final class ThunkExpressionTraversal {
+
+    private ThunkExpressionTraversal() {
+    }
+
+    public static <T, C> T traverse(@NonNull ThunkExpression<?> expression,
+            @NonNull IterativeThunkExpressionVisitor<T, C> visitor, C context) {
+        var work = new WorkStack();
+        var values = new ArrayList<T>();
+
+        ThunkExpression<?> next = expression;
+        while (true) {
+            if (next instanceof FunctionExpression<?>) {
+                var function = (FunctionExpression<?>) next;
+                var shortcut = visitor.enter(function, context);
+                if (shortcut != null) {
+                    values.add(shortcut);
+                } else {
+                    work.push(function, values.size());
+                }
+            } else if (next != null) {
+                // leaves do not have terms, so the regular double dispatch is fine here
+                values.add(next.accept(visitor, context));
+            }
+            next = null;
+
+            if (work.isEmpty()) {
+                return values.get(values.size() - 1);
+            }
+
+            if (work.hasNextTerm()) {
+                next = work.nextTerm();
+                continue;
+            }
+
+            var function = work.function();
+            var termValues = values.subList(work.valueBase(), values.size());
+            var terms = new ArrayList<>(termValues);
+            termValues.clear();
+            work.pop();
+
+            values.add(visitor.leave(function, terms, context));
+        }
+    }
+
+    /**
+     * Work stack with one frame per function that is being traversed, stored in parallel arrays.
+     */
+    private static class WorkStack {
+
+        private FunctionExpression<?>[] functions = new FunctionExpression<?>[16];
+        private int[] nextTerm = new int[16];
+        private int[] valueBase = new int[16];
+        private int top = -1;
+
+        void push(FunctionExpression<?> function, int valueBase) {
+            if (++this.top == this.functions.length) {
+                int capacity = this.functions.length * 2;
+                this.functions = Arrays.copyOf(this.functions, capacity);
+                this.nextTerm = Arrays.copyOf(this.nextTerm, capacity);
+                this.valueBase = Arrays.copyOf(this.valueBase, capacity);
+            }
+            this.functions[this.top] = function;
+            this.nextTerm[this.top] = 0;
+            this.valueBase[this.top] = valueBase;
+        }
+
+        boolean isEmpty() {
+            return this.top < 0;
+        }
+
+        boolean hasNextTerm() {
+            return this.nextTerm[this.top] < this.functions[this.top].termCount();
+        }
+
+        ThunkExpression<?> nextTerm() {
+            return this.functions[this.top].term(this.nextTerm[this.top]++);
+        }
+
+        FunctionExpression<?> function() {
+            return this.functions[this.top];
+        }
+
+        int valueBase() {
+            return this.valueBase[this.top];
+        }
+
+        void pop() {
+            this.functions[this.top] = null;
+            this.top--;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A point in time, with nanosecond precision.
+ */
+class TimestampValue implements Scalar<Instant> {
+
+    @Getter
+    @NonNull
+    private final Instant value;
+
+    @Getter
+    private final Fingerprint fingerprint;
+
+    TimestampValue(@NonNull Instant value) {
+        this.value = value;
+        this.fingerprint = Fingerprint.ofTimestamp(value);
+    }
+
+    @Override
+    public Class<? extends Instant> getResultType() {
+        return Instant.class;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        var other = (TimestampValue) o;
+        return this.fingerprint.equals(other.fingerprint) && this.value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.value.toString();
+    }
+}
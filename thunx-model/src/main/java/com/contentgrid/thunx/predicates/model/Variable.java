@@ -1,19 +1,21 @@
 package com.contentgrid.thunx.predicates.model;
 
-import lombok.AccessLevel;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
 @Getter
-@EqualsAndHashCode
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class Variable implements ThunkExpression<Object> {
 
     @NonNull
     private final String name;
 
+    private final Fingerprint fingerprint;
+
+    private Variable(@NonNull String name) {
+        this.name = name;
+        this.fingerprint = Fingerprint.ofVariable(name);
+    }
+
     @Override
     public Class<?> getResultType() {
         return Object.class;
@@ -24,7 +26,24 @@ public class Variable implements ThunkExpression<Object> {
         return visitor.visit(this, context);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        return this.name.equals(((Variable) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        // String caches its own hash code
+        return this.name.hashCode();
+    }
+
     public static Variable named(String name) {
-        return new Variable(name);
+        return ThunkExpressionInterner.intern(new Variable(name));
     }
 }
@@ -0,0 +1,60 @@
+package com.contentgrid.thunx.predicates.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Table of canonical instances, keyed by {@link Object#equals(Object) equality}.
+ * <p>
+ * Canonical instances are only weakly referenced, they are reclaimed by the garbage collector as soon as they are not
+ * used anymore. The table is split in segments, to reduce lock contention.
+ */
+final class WeakInterner<E> {
+
+    private static final int SEGMENTS = 16;
+
+    @SuppressWarnings("unchecked")
+    private final Map<E, WeakReference<E>>[] segments = new Map[SEGMENTS];
+
+    WeakInterner() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * Returns the canonical instance that is equal to the given instance, registering the given instance as the
+     * canonical instance if there is none yet.
+     */
+    E intern(E instance) {
+        var segment = this.segments[instance.hashCode() & (SEGMENTS - 1)];
+        synchronized (segment) {
+            var reference = segment.get(instance);
+            var existing = reference == null ? null : reference.get();
+            if (existing != null) {
+                return existing;
+            }
+            segment.put(instance, new WeakReference<>(instance));
+            return instance;
+        }
+    }
+
+    void clear() {
+        for (var segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (var segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+}
@@ -1,6 +1,7 @@
 package com.contentgrid.thunx.predicates.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,16 @@ class ComparisonTest {
         assertThat(comparison.getRightTerm()).isNotNull();
     }
 
+    @Test
+    void startsWith() {
+        // rule: startswith(entity.path, '/tenant-a/')
+        var comparison = Comparison.startsWith(SymbolicReference.parse("entity.path"), Scalar.of("/tenant-a/"));
+
+        assertThat(comparison.getOperator()).isEqualTo(Operator.STARTS_WITH);
+        assertThat(comparison).hasToString("STARTSWITH(entity.path, '/tenant-a/')");
+        assertThat(Operator.resolve("startswith")).isEqualTo(Operator.STARTS_WITH);
+    }
+
     @Test
     void comparison_toString() {
         // rule: user.clothing.coat.color == "blue"
@@ -35,4 +46,16 @@ class ComparisonTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void termAccess() {
+        var left = SymbolicReference.parse("document.security");
+        var comparison = Comparison.less(left, Scalar.of(5));
+
+        assertThat(comparison.termCount()).isEqualTo(2);
+        assertThat(comparison.term(0)).isSameAs(left);
+        assertThat(comparison.term(1)).isEqualTo(Scalar.of(5));
+        assertThat(comparison.getTerms()).isSameAs(comparison.getTerms());
+        assertThatThrownBy(() -> comparison.term(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+}
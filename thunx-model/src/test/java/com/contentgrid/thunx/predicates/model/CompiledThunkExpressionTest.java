@@ -0,0 +1,82 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompiledThunkExpressionTest {
+
+    // entity.owner == 'alice' AND (entity.level * 2 > 3 OR NOT(entity.owner == 'bob'))
+    private static final ThunkExpression<Boolean> EXPRESSION = LogicalOperation.conjunction(
+            Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")),
+            LogicalOperation.disjunction(
+                    Comparison.greater(
+                            NumericFunction.multiply(SymbolicReference.parse("entity.level"), Scalar.of(2)),
+                            Scalar.of(3)),
+                    LogicalOperation.negation(
+                            Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("bob")))
+            )
+    );
+
+    @Test
+    void compile_postfix() {
+        var program = CompiledThunkExpression.compile(
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")));
+
+        assertThat(program.size()).isEqualTo(3);
+        assertThat(program.getOpcode(0)).isEqualTo(CompiledThunkExpression.PUSH);
+        assertThat(program.getConstant(program.getOperand(0))).isEqualTo(SymbolicReference.parse("entity.owner"));
+        assertThat(program.getOpcode(1)).isEqualTo(CompiledThunkExpression.PUSH);
+        assertThat(program.getConstant(program.getOperand(1))).isEqualTo(Scalar.of("alice"));
+        assertThat(program.getOperator(2)).isEqualTo(Operator.EQUALS);
+        assertThat(program.getOperand(2)).isEqualTo(2);
+        assertThat(program.getMaxStackDepth()).isEqualTo(2);
+    }
+
+    @Test
+    void compile_deduplicatesConstants() {
+        var program = CompiledThunkExpression.compile(EXPRESSION);
+
+        // entity.owner, 'alice', entity.level, 2, 3, 'bob'
+        assertThat(program.getConstantCount()).isEqualTo(6);
+    }
+
+    @Test
+    void roundTrip() {
+        var program = CompiledThunkExpression.compile(EXPRESSION);
+
+        assertThat(program.toExpression()).isEqualTo(EXPRESSION);
+        assertThat(program.getFingerprint()).isEqualTo(EXPRESSION.getFingerprint());
+    }
+
+    @Test
+    void roundTrip_emptyLogicalOperations() {
+        var expression = LogicalOperation.disjunction(
+                LogicalOperation.conjunction(List.of()),
+                LogicalOperation.disjunction(List.of()));
+
+        assertThat(CompiledThunkExpression.compile(expression).toExpression()).isEqualTo(expression);
+    }
+
+    @Test
+    void roundTrip_deepExpression() {
+        ThunkExpression<Boolean> expression = Comparison.areEqual(SymbolicReference.parse("entity.id"), Scalar.of(0));
+        for (int i = 1; i < 2_000; i++) {
+            expression = LogicalOperation.disjunction(expression,
+                    Comparison.areEqual(SymbolicReference.parse("entity.id"), Scalar.of(i)));
+        }
+
+        var program = CompiledThunkExpression.compile(expression);
+
+        assertThat(program.toExpression()).isEqualTo(expression);
+    }
+
+    @Test
+    void equalExpressions_compileToEqualPrograms() {
+        assertThat(CompiledThunkExpression.compile(EXPRESSION))
+                .isEqualTo(CompiledThunkExpression.compile(CompiledThunkExpression.compile(EXPRESSION).toExpression()))
+                .isNotEqualTo(CompiledThunkExpression.compile(LogicalOperation.negation(EXPRESSION)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+class ExpressionComplexityTest {
+
+    // entity.owner == 'alice' OR entity.owner == 'bob' OR (entity.level + 1 > 3)
+    private static final ThunkExpression<Boolean> EXPRESSION = LogicalOperation.disjunction(
+            Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")),
+            Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("bob")),
+            Comparison.greater(NumericFunction.plus(SymbolicReference.parse("entity.level"), Scalar.of(1)), Scalar.of(3))
+    );
+
+    @Test
+    void complexity() {
+        var complexity = ExpressionComplexity.of(EXPRESSION);
+
+        assertThat(complexity.getNodeCount()).isEqualTo(12);
+        assertThat(complexity.getDepth()).isEqualTo(4);
+        assertThat(complexity.getDistinctReferenceCount()).isEqualTo(2);
+        assertThat(complexity.getMaxFanOut()).isEqualTo(3);
+    }
+
+    @Test
+    void complexity_scalar() {
+        var complexity = ExpressionComplexity.of(Scalar.of(true));
+
+        assertThat(complexity.getNodeCount()).isEqualTo(1);
+        assertThat(complexity.getDepth()).isEqualTo(1);
+        assertThat(complexity.getDistinctReferenceCount()).isZero();
+        assertThat(complexity.getMaxFanOut()).isZero();
+    }
+
+    @Test
+    void budget_unlimited() {
+        assertThat(ExpressionBudget.UNLIMITED.isUnlimited()).isTrue();
+        assertThat(ExpressionBudget.UNLIMITED.allows(ExpressionComplexity.of(EXPRESSION))).isTrue();
+    }
+
+    @Test
+    void budget_enforce() {
+        ExpressionBudget.UNLIMITED.withMaxNodeCount(12).withMaxDepth(4).enforce(EXPRESSION);
+
+        assertThatThrownBy(() -> ExpressionBudget.UNLIMITED.withMaxDepth(3).enforce(EXPRESSION))
+                .isInstanceOf(ExpressionBudgetExceededException.class)
+                .hasMessage("Expression complexity (nodes=10, depth=4, references=1, fan-out=3) exceeds budget (depth<=3)");
+        assertThatThrownBy(() -> ExpressionBudget.UNLIMITED.withMaxDistinctReferenceCount(1).enforce(EXPRESSION))
+                .isInstanceOf(ExpressionBudgetExceededException.class);
+        assertThatThrownBy(() -> ExpressionBudget.UNLIMITED.withMaxFanOut(2).enforce(EXPRESSION))
+                .isInstanceOf(ExpressionBudgetExceededException.class);
+    }
+
+    @Test
+    void budget_stopsAtFirstExceededLimit() {
+        var members = new ArrayList<ThunkExpression<?>>();
+        for (int i = 0; i < 10_000; i++) {
+            members.add(Scalar.of(i));
+        }
+        var expression = SetMembership.in(SymbolicReference.parse("entity.level"), members);
+
+        assertThatThrownBy(() -> ExpressionBudget.UNLIMITED.withMaxNodeCount(100).enforce(expression))
+                .isInstanceOfSatisfying(ExpressionBudgetExceededException.class,
+                        ex -> assertThat(ex.getComplexity().getNodeCount()).isEqualTo(101));
+        assertThatThrownBy(() -> ExpressionBudget.UNLIMITED.withMaxFanOut(100).enforce(expression))
+                .isInstanceOfSatisfying(ExpressionBudgetExceededException.class,
+                        ex -> assertThat(ex.getComplexity().getNodeCount()).isEqualTo(1));
+    }
+
+    @Test
+    void budget_invalidLimit() {
+        assertThatThrownBy(() -> ExpressionBudget.UNLIMITED.withMaxNodeCount(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FingerprintTest {
+
+    @Test
+    void equalExpressions_haveEqualFingerprints() {
+        var first = Comparison.lessOrEquals(SymbolicReference.parse("entity.security"), Scalar.of(5));
+        var second = Comparison.lessOrEquals(SymbolicReference.parse("entity.security"), Scalar.of(5));
+
+        assertThat(first.getFingerprint()).isEqualTo(second.getFingerprint());
+    }
+
+    @Test
+    void differentExpressions_haveDifferentFingerprints() {
+        var reference = SymbolicReference.parse("entity.security");
+
+        assertThat(List.of(
+                Comparison.lessOrEquals(reference, Scalar.of(5)).getFingerprint(),
+                Comparison.less(reference, Scalar.of(5)).getFingerprint(),
+                Comparison.lessOrEquals(Scalar.of(5), reference).getFingerprint(),
+                Comparison.lessOrEquals(reference, Scalar.of("5")).getFingerprint(),
+                Comparison.lessOrEquals(reference, Scalar.of(5.0)).getFingerprint(),
+                Scalar.of("ab").getFingerprint(),
+                Scalar.of("ba").getFingerprint(),
+                Scalar.of(true).getFingerprint(),
+                Scalar.nullValue().getFingerprint(),
+                LogicalOperation.conjunction(List.of()).getFingerprint(),
+                LogicalOperation.disjunction(List.of()).getFingerprint()
+        )).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void fingerprint_isStable() {
+        var expression = Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice"));
+
+        assertThat(expression.getFingerprint()).hasToString("314e7ae038eef3915db79ebe9e250d49");
+    }
+
+    @Test
+    void computedFingerprint_matchesCachedFingerprint() {
+        var expression = LogicalOperation.disjunction(
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")),
+                Comparison.greater(NumericFunction.plus(SymbolicReference.parse("entity.level"), Scalar.of(1)), Scalar.of(3)),
+                LogicalOperation.negation(Comparison.areEqual(SymbolicReference.parse("entity.archived"), Scalar.of(true)))
+        );
+
+        assertThat(Fingerprint.of(expression)).isEqualTo(expression.getFingerprint());
+    }
+
+    @Test
+    void computedNumberFingerprint_matchesNumberValue() {
+        assertThat(Fingerprint.of(Scalar.of(42))).isEqualTo(Scalar.of(42).getFingerprint());
+        assertThat(Fingerprint.of(Scalar.of(1.5))).isEqualTo(Scalar.of(1.5).getFingerprint());
+
+        assertThat(Fingerprint.of(new CustomNumber(42))).isEqualTo(Scalar.of(42).getFingerprint());
+        assertThat(Fingerprint.of(new CustomNumber(1.5f))).isEqualTo(Scalar.of(1.5).getFingerprint());
+        assertThat(Fingerprint.of(new CustomNumber(new BigDecimal("4.20"))))
+                .isEqualTo(Scalar.of(new BigDecimal("4.20")).getFingerprint());
+    }
+
+    private static class CustomNumber implements Scalar<Number> {
+
+        private final Number value;
+
+        CustomNumber(Number value) {
+            this.value = value;
+        }
+
+        @Override
+        public Number getValue() {
+            return this.value;
+        }
+
+        @Override
+        public Class<? extends Number> getResultType() {
+            return Number.class;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.contentgrid.thunx.predicates.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import java.util.List;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +50,48 @@ class LogicalOperationTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void flatDisjunction() {
+        var rule1 = Comparison.areEqual(SymbolicReference.parse("document.owner"), Scalar.of("alice"));
+        var rule2 = Comparison.areEqual(SymbolicReference.parse("document.owner"), Scalar.of("bob"));
+        var rule3 = Comparison.lessOrEquals(SymbolicReference.parse("document.security"), Scalar.of(5));
+        var rule4 = LogicalOperation.conjunction(rule1, rule3);
+
+        var disjunction = LogicalOperation.flatDisjunction(
+                LogicalOperation.disjunction(rule1, LogicalOperation.disjunction(rule2)),
+                rule3,
+                LogicalOperation.disjunction(List.of()),
+                rule4);
+
+        assertThat(disjunction.getOperator()).isEqualTo(Operator.OR);
+        assertThat(disjunction.getTerms()).containsExactly(rule1, rule2, rule3, rule4);
+    }
+
+    @Test
+    void flatConjunction_deeplyNested() {
+        var rule = Comparison.areEqual(SymbolicReference.parse("document.owner"), Scalar.of("alice"));
+
+        ThunkExpression<Boolean> nested = rule;
+        for (int i = 0; i < 10_000; i++) {
+            nested = LogicalOperation.conjunction(nested, rule);
+        }
+
+        var conjunction = LogicalOperation.flatConjunction(nested);
+
+        assertThat(conjunction.getTerms()).hasSize(10_001).containsOnly(rule);
+    }
+
+    @Test
+    void termAccess() {
+        var rule1 = Comparison.areEqual(SymbolicReference.parse("document.owner"), Scalar.of("alice"));
+        var rule2 = Comparison.lessOrEquals(SymbolicReference.parse("document.security"), Scalar.of(5));
+        var conjunction = LogicalOperation.conjunction(rule1, rule2);
+
+        assertThat(conjunction.termCount()).isEqualTo(2);
+        assertThat(conjunction.term(0)).isSameAs(rule1);
+        assertThat(conjunction.term(1)).isSameAs(rule2);
+        assertThat(conjunction.getTerms()).isSameAs(conjunction.getTerms());
+        assertThatThrownBy(() -> conjunction.getTerms().add(rule1)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.contentgrid.thunx.predicates.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.math.BigDecimal;
 import org.junit.jupiter.api.Test;
@@ -14,8 +15,8 @@ class NumberValueTest {
 
         assertThat(Scalar.of(5.0)).isEqualTo(Scalar.of(5.0D));
 
-        assertThat(Scalar.of(5)).isEqualTo(new NumberValue(BigDecimal.valueOf(5)));
-        assertThat(Scalar.of(5L)).isEqualTo(new NumberValue(BigDecimal.valueOf(5)));
+        assertThat(Scalar.of(5)).isEqualTo(NumberValue.of(BigDecimal.valueOf(5)));
+        assertThat(Scalar.of(5L)).isEqualTo(NumberValue.of(BigDecimal.valueOf(5)));
     }
 
     @Test
@@ -30,6 +31,84 @@ class NumberValueTest {
         assertThat(Scalar.of(5D)).isNotEqualTo(Scalar.of(42D));
     }
 
+    @Test
+    void notEquals_byScale() {
+        assertThat(Scalar.of(new BigDecimal("1.0"))).isNotEqualTo(Scalar.of(new BigDecimal("1.00")));
+    }
+
+    @Test
+    void integralBigDecimal_isLong() {
+        assertThat(Scalar.of(BigDecimal.valueOf(42)).getNumber()).isEqualTo(42L);
+        assertThat(Scalar.of(42L).getNumber()).isEqualTo(42L);
+        assertThat(Scalar.of(4.2D).getNumber()).isEqualTo(4.2D);
+        assertThat(Scalar.of(new BigDecimal("4.20")).getNumber()).isEqualTo(new BigDecimal("4.20"));
+    }
+
+    @Test
+    void equals_regardlessOfConstruction() {
+        assertThat(Scalar.of(new BigDecimal("1.5"))).isEqualTo(Scalar.of(1.5D));
+        assertThat(Scalar.of(new BigDecimal("5.0"))).isEqualTo(Scalar.of(5.0D));
+        assertThat(Scalar.of(new BigDecimal("5E+1"))).isEqualTo(Scalar.of(50L));
+        assertThat(Scalar.of(1e7D)).isEqualTo(Scalar.of(10_000_000L));
+        assertThat(Scalar.of(1e20D)).isEqualTo(Scalar.of(new BigDecimal("1.0E+20")));
+
+        assertThat(Scalar.of(new BigDecimal("5E+1")).getNumber()).isEqualTo(50L);
+        assertThat(Scalar.of(new BigDecimal("1.5")).getNumber()).isEqualTo(1.5D);
+        assertThat(Scalar.of(new BigDecimal("0.1000000000000000055511151231257827")).getNumber())
+                .isInstanceOf(BigDecimal.class);
+    }
+
+    @Test
+    void getValue_isCached() {
+        var value = Scalar.of(4.2D);
+        assertThat(value.getValue()).isSameAs(value.getValue());
+
+        var decimal = new BigDecimal("1.5");
+        assertThat(Scalar.of(decimal).getValue()).isSameAs(decimal);
+    }
+
+    @Test
+    void getValue_isBigDecimal() {
+        assertThat(Scalar.of(42L).getValue()).isEqualTo(BigDecimal.valueOf(42L));
+        assertThat(Scalar.of(4.2D).getValue()).isEqualTo(BigDecimal.valueOf(4.2D));
+        assertThat(Scalar.of(5.0D).getValue()).isEqualTo(BigDecimal.valueOf(5.0D));
+        assertThat(Scalar.of(new BigDecimal("4.20")).getValue()).isEqualTo(new BigDecimal("4.20"));
+    }
+
+    @Test
+    void compareNumerically() {
+        var one = Scalar.of(1L);
+        var oneDouble = Scalar.of(1.0D);
+        var oneDecimal = Scalar.of(new BigDecimal("1.00"));
+
+        assertThat(one.compareNumerically(oneDouble)).isZero();
+        assertThat(oneDouble.compareNumerically(oneDecimal)).isZero();
+        assertThat(oneDecimal.compareNumerically(one)).isZero();
+        assertThat(one.numericHashCode())
+                .isEqualTo(oneDouble.numericHashCode())
+                .isEqualTo(oneDecimal.numericHashCode());
+
+        assertThat(Scalar.of(0.1D).compareNumerically(Scalar.of(new BigDecimal("0.10")))).isZero();
+        assertThat(Scalar.of(0.1D).numericHashCode()).isEqualTo(Scalar.of(new BigDecimal("0.10")).numericHashCode());
+
+        assertThat(Scalar.of(3L).compareNumerically(Scalar.of(3.5D))).isNegative();
+        assertThat(Scalar.of(-2L).compareNumerically(Scalar.of(-2.5D))).isPositive();
+        assertThat(Scalar.of(-2.5D).compareNumerically(Scalar.of(-3L))).isPositive();
+        assertThat(Scalar.of(Long.MAX_VALUE).compareNumerically(Scalar.of(0x1p63))).isNegative();
+        assertThat(Scalar.of(Long.MAX_VALUE).compareNumerically(Scalar.of(Long.MAX_VALUE - 1))).isPositive();
+    }
+
+    @Test
+    void negativeZero() {
+        assertThat(Scalar.of(-0.0D)).isEqualTo(Scalar.of(0.0D));
+    }
+
+    @Test
+    void nonFinite_shouldFail() {
+        assertThatThrownBy(() -> Scalar.of(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Scalar.of(Double.POSITIVE_INFINITY)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void numberValue_toString() {
         assertThat(Scalar.of(6)).hasToString("6");
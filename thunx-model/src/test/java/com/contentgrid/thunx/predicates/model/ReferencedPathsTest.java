@@ -0,0 +1,50 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import org.junit.jupiter.api.Test;
+
+class ReferencedPathsTest {
+
+    // entity.owner == 'alice' OR entity.owner != 'bob' OR (entity.level + 1 > 3) OR input.user.admin == true
+    private static final ThunkExpression<Boolean> EXPRESSION = LogicalOperation.disjunction(
+            Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")),
+            Comparison.notEqual(SymbolicReference.parse("entity.owner"), Scalar.of("bob")),
+            Comparison.greater(NumericFunction.plus(SymbolicReference.parse("entity.level"), Scalar.of(1)), Scalar.of(3)),
+            Comparison.areEqual(SymbolicReference.parse("input.user.admin"), Scalar.of(true))
+    );
+
+    @Test
+    void referencedPaths() {
+        var paths = ReferencedPaths.of(EXPRESSION);
+
+        assertThat(paths.getReferences()).containsExactlyInAnyOrder(
+                SymbolicReference.parse("entity.owner"),
+                SymbolicReference.parse("entity.level"),
+                SymbolicReference.parse("input.user.admin"));
+        assertThat(paths.getOperators(SymbolicReference.parse("entity.owner")))
+                .containsExactlyInAnyOrder(Operator.EQUALS, Operator.NOT_EQUAL_TO);
+        assertThat(paths.getOperators(SymbolicReference.parse("entity.level"))).containsExactly(Operator.PLUS);
+        assertThat(paths.getOperators(SymbolicReference.parse("entity.other"))).isEmpty();
+    }
+
+    @Test
+    void referencedPaths_bySubject() {
+        assertThat(ReferencedPaths.of(EXPRESSION).getReferences("entity")).containsExactlyInAnyOrder(
+                SymbolicReference.parse("entity.owner"),
+                SymbolicReference.parse("entity.level"));
+    }
+
+    @Test
+    void referencedPaths_noReferences() {
+        assertThat(ReferencedPaths.of(Scalar.of(true)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void referencedPaths_areMemoized() {
+        var first = ReferencedPaths.of(EXPRESSION);
+
+        assertThat(ReferencedPaths.of(EXPRESSION)).isSameAs(first);
+    }
+}
@@ -0,0 +1,52 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class ScalarArithmeticTest {
+
+    @Test
+    void plus() {
+        assertThat(ScalarArithmetic.plus(Scalar.of(2), Scalar.of(3))).contains(Scalar.of(5));
+        assertThat(ScalarArithmetic.plus(Scalar.of(0.1), Scalar.of(0.2))).contains(Scalar.of(new BigDecimal("0.3")));
+        assertThat(ScalarArithmetic.plus(Scalar.of(Long.MAX_VALUE), Scalar.of(1)))
+                .contains(Scalar.of(new BigDecimal("9223372036854775808")));
+        assertThat(ScalarArithmetic.plus(Scalar.of(2), Scalar.of("3"))).isEmpty();
+    }
+
+    @Test
+    void minus() {
+        assertThat(ScalarArithmetic.minus(Scalar.of(2), Scalar.of(3))).contains(Scalar.of(-1));
+        assertThat(ScalarArithmetic.minus(Scalar.of(Long.MIN_VALUE), Scalar.of(1)))
+                .contains(Scalar.of(new BigDecimal("-9223372036854775809")));
+    }
+
+    @Test
+    void multiply() {
+        assertThat(ScalarArithmetic.multiply(Scalar.of(2), Scalar.of(5))).contains(Scalar.of(10));
+        assertThat(ScalarArithmetic.multiply(Scalar.of(2.5), Scalar.of(2))).contains(Scalar.of(5));
+        assertThat(ScalarArithmetic.multiply(Scalar.of(Long.MAX_VALUE), Scalar.of(2)))
+                .contains(Scalar.of(new BigDecimal("18446744073709551614")));
+    }
+
+    @Test
+    void divide() {
+        assertThat(ScalarArithmetic.divide(Scalar.of(10), Scalar.of(2))).contains(Scalar.of(5));
+        assertThat(ScalarArithmetic.divide(Scalar.of(7), Scalar.of(2))).contains(Scalar.of(new BigDecimal("3.5")));
+        assertThat(ScalarArithmetic.divide(Scalar.of(1), Scalar.of(3)))
+                .contains(Scalar.of(new BigDecimal("0.3333333333333333333333333333333333")));
+        assertThat(ScalarArithmetic.divide(Scalar.of(1), Scalar.of(0))).isEmpty();
+        assertThat(ScalarArithmetic.divide(Scalar.of(1), Scalar.of(0.0))).isEmpty();
+    }
+
+    @Test
+    void modulus() {
+        assertThat(ScalarArithmetic.modulus(Scalar.of(7), Scalar.of(3))).contains(Scalar.of(1));
+        assertThat(ScalarArithmetic.modulus(Scalar.of(-7), Scalar.of(3))).contains(Scalar.of(-1));
+        assertThat(ScalarArithmetic.modulus(Scalar.of(new BigDecimal("8.00")), Scalar.of(3))).contains(Scalar.of(2));
+        assertThat(ScalarArithmetic.modulus(Scalar.of(7.5), Scalar.of(3))).isEmpty();
+        assertThat(ScalarArithmetic.modulus(Scalar.of(7), Scalar.of(0))).isEmpty();
+    }
+}
@@ -0,0 +1,45 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SetMembershipTest {
+
+    private final SymbolicReference department = SymbolicReference.parse("entity.department");
+
+    @Test
+    void termAndValues() {
+        var membership = SetMembership.in(department, Scalar.of("HR"), Scalar.of("IT"));
+
+        assertThat(membership.getOperator()).isEqualTo(Operator.IN);
+        assertThat(membership.getTerm()).isSameAs(department);
+        assertThat(membership.getValues()).containsExactly(Scalar.of("HR"), Scalar.of("IT"));
+        assertThat(membership.getTerms()).containsExactly(department, Scalar.of("HR"), Scalar.of("IT"));
+        assertThat(membership).hasToString("IN(entity.department, 'HR', 'IT')");
+    }
+
+    @Test
+    void createdByOperator() {
+        var membership = Operator.IN.create(List.of(department, Scalar.of("HR"), Scalar.of("IT")));
+
+        assertThat(membership).isEqualTo(SetMembership.in(department, Scalar.of("HR"), Scalar.of("IT")));
+        assertThat(membership.getFingerprint())
+                .isEqualTo(SetMembership.in(department, Scalar.of("HR"), Scalar.of("IT")).getFingerprint());
+    }
+
+    @Test
+    void valueOrderMatters() {
+        assertThat(SetMembership.in(department, Scalar.of("HR"), Scalar.of("IT")))
+                .isNotEqualTo(SetMembership.in(department, Scalar.of("IT"), Scalar.of("HR")));
+    }
+
+    @Test
+    void withoutValues_fails() {
+        assertThatThrownBy(() -> SetMembership.in(department))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
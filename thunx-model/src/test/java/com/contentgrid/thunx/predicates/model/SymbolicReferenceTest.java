@@ -13,4 +13,41 @@ class SymbolicReferenceTest {
 
         assertThat(symbol).hasToString("user.clothing.coat.color");
     }
-}
\ No newline at end of file
+
+    @Test
+    void samePath_isInterned() {
+        var parsed = SymbolicReference.parse("entity.owner.name");
+        var built = SymbolicReference.of("entity", path -> path.string("owner").string("name"));
+
+        assertThat(parsed).isSameAs(built);
+        assertThat(parsed).isNotSameAs(SymbolicReference.parse("entity.owner"));
+    }
+
+    @Test
+    void pathAccess() {
+        var symbol = SymbolicReference.of("entity", path -> path.string("tags").var("tag").string("name"));
+
+        assertThat(symbol.toPath()).isEqualTo("entity.tags.$tag.name");
+        assertThat(symbol.pathLength()).isEqualTo(3);
+        assertThat(symbol.pathElement(0)).isEqualTo(SymbolicReference.path("tags"));
+        assertThat(symbol.pathElement(1)).isEqualTo(SymbolicReference.pathVar("tag"));
+        assertThat(symbol.getPath()).containsExactly(
+                SymbolicReference.path("tags"), SymbolicReference.pathVar("tag"), SymbolicReference.path("name"));
+    }
+
+    @Test
+    void pathVariables() {
+        var symbol = SymbolicReference.of("entity", path -> path.string("tags").var("tag").string("name"));
+
+        assertThat(symbol.getPathVariables()).containsExactly(Variable.named("tag"));
+        assertThat(SymbolicReference.parse("entity.owner").getPathVariables()).isEmpty();
+    }
+
+    @Test
+    void subjectOnly() {
+        var symbol = SymbolicReference.parse("entity");
+
+        assertThat(symbol.pathLength()).isZero();
+        assertThat(symbol).hasToString("entity");
+    }
+}
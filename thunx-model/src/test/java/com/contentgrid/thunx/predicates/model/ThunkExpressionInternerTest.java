@@ -0,0 +1,68 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ThunkExpressionInternerTest {
+
+    @AfterEach
+    void disableInterning() {
+        ThunkExpressionInterner.disable();
+    }
+
+    private static ThunkExpression<Boolean> expression() {
+        // entity.security <= 5 AND entity.owner == 'alice'
+        return LogicalOperation.conjunction(
+                Comparison.lessOrEquals(SymbolicReference.parse("entity.security"), Scalar.of(5)),
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice"))
+        );
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertThat(ThunkExpressionInterner.isEnabled()).isFalse();
+
+        assertThat(expression())
+                .isEqualTo(expression())
+                .isNotSameAs(expression());
+    }
+
+    @Test
+    void structurallyIdenticalExpressions_areShared() {
+        ThunkExpressionInterner.enable();
+
+        assertThat(expression()).isSameAs(expression());
+        assertThat(Scalar.of("alice")).isSameAs(Scalar.of("alice"));
+        assertThat(Scalar.of(5)).isSameAs(Scalar.of(5L));
+        assertThat(Variable.named("entity")).isSameAs(Variable.named("entity"));
+        assertThat(SymbolicReference.parse("entity.security")).isSameAs(SymbolicReference.parse("entity.security"));
+        assertThat(NumericFunction.plus(Scalar.of(1), Scalar.of(2))).isSameAs(NumericFunction.plus(Scalar.of(1), Scalar.of(2)));
+    }
+
+    @Test
+    void differentExpressions_areNotShared() {
+        ThunkExpressionInterner.enable();
+
+        var lessOrEquals = Comparison.lessOrEquals(SymbolicReference.parse("entity.security"), Scalar.of(5));
+        var lessThan = Comparison.less(SymbolicReference.parse("entity.security"), Scalar.of(5));
+
+        assertThat(lessOrEquals).isNotEqualTo(lessThan);
+        assertThat(Scalar.of(5L)).isNotSameAs(Scalar.of(5D));
+        assertThat(LogicalOperation.conjunction(lessOrEquals, lessThan))
+                .isNotSameAs(LogicalOperation.disjunction(lessOrEquals, lessThan));
+    }
+
+    @Test
+    void disable_clearsCanonicalInstances() {
+        ThunkExpressionInterner.enable();
+        var expression = expression();
+        assertThat(ThunkExpressionInterner.size()).isPositive();
+
+        ThunkExpressionInterner.disable();
+
+        assertThat(ThunkExpressionInterner.size()).isZero();
+        assertThat(expression()).isEqualTo(expression).isNotSameAs(expression);
+    }
+}
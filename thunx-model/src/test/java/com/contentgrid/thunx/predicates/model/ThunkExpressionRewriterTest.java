@@ -0,0 +1,56 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ThunkExpressionRewriterTest {
+
+    private static final ThunkExpressionRewriter<Void> RENAME_BOB = new ThunkExpressionRewriter<>() {
+        @Override
+        public ThunkExpression<?> visit(Scalar<?> scalar, Void context) {
+            return "bob".equals(scalar.getValue()) ? Scalar.of("robert") : scalar;
+        }
+    };
+
+    @Test
+    void unchanged_returnsSameInstance() {
+        var expression = LogicalOperation.conjunction(
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")),
+                LogicalOperation.negation(Comparison.greater(SymbolicReference.parse("entity.level"), Scalar.of(3)))
+        );
+
+        assertThat(expression.accept(RENAME_BOB, null)).isSameAs(expression);
+    }
+
+    @Test
+    void changed_sharesUnchangedSubtrees() {
+        var owner = Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("bob"));
+        var level = LogicalOperation.negation(Comparison.greater(SymbolicReference.parse("entity.level"), Scalar.of(3)));
+        var expression = LogicalOperation.conjunction(owner, level);
+
+        var result = (FunctionExpression<?>) expression.accept(RENAME_BOB, null);
+
+        assertThat(result).isEqualTo(LogicalOperation.conjunction(
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("robert")),
+                level
+        ));
+        assertThat(result.term(1)).isSameAs(level);
+    }
+
+    @Test
+    void rewriteToEqualExpression_returnsSameInstance() {
+        var rewriter = new ThunkExpressionRewriter<Void>() {
+            @Override
+            public ThunkExpression<?> rewrite(FunctionExpression<?> functionExpression, Void context) {
+                return functionExpression.getOperator().create(functionExpression.getTerms());
+            }
+        };
+        var expression = LogicalOperation.disjunction(
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")),
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("bob"))
+        );
+
+        assertThat(expression.accept(rewriter, null)).isSameAs(expression);
+    }
+}
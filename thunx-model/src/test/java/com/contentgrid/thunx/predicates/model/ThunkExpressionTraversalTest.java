@@ -0,0 +1,112 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ThunkExpressionTraversalTest {
+
+    @Test
+    void traverse_postOrder() {
+        var expression = LogicalOperation.conjunction(
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")),
+                LogicalOperation.negation(Comparison.greater(SymbolicReference.parse("entity.level"), Scalar.of(3)))
+        );
+
+        var result = expression.accept(new PrintingVisitor(), null);
+
+        assertThat(result).isEqualTo("and(eq(entity.owner, 'alice'), not(gt(entity.level, 3)))");
+    }
+
+    @Test
+    void traverse_leaf() {
+        assertThat(ThunkExpressionTraversal.traverse(Scalar.of("alice"), new PrintingVisitor(), null))
+                .isEqualTo("'alice'");
+    }
+
+    @Test
+    void traverse_enterShortCircuits() {
+        var entered = new ArrayList<Operator>();
+        var visitor = new PrintingVisitor() {
+            @Override
+            public String enter(FunctionExpression<?> functionExpression, Void context) {
+                entered.add(functionExpression.getOperator());
+                return functionExpression.getOperator() == Operator.NOT ? "<skipped>" : null;
+            }
+        };
+
+        var expression = LogicalOperation.disjunction(
+                LogicalOperation.negation(Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("bob"))),
+                Comparison.areEqual(SymbolicReference.parse("entity.level"), Scalar.of(1))
+        );
+
+        assertThat(expression.accept(visitor, null)).isEqualTo("or(<skipped>, eq(entity.level, 1))");
+        assertThat(entered).containsExactly(Operator.OR, Operator.NOT, Operator.EQUALS);
+    }
+
+    @Test
+    void traverse_deepExpression() {
+        ThunkExpression<Boolean> expression = Scalar.of(true);
+        for (int i = 0; i < 100_000; i++) {
+            expression = LogicalOperation.negation(expression);
+        }
+
+        var depth = expression.accept(new IterativeThunkExpressionVisitor<Integer, Void>() {
+            @Override
+            public Integer leave(FunctionExpression<?> functionExpression, List<Integer> terms, Void context) {
+                return terms.get(0) + 1;
+            }
+
+            @Override
+            public Integer visit(Scalar<?> scalar, Void context) {
+                return 0;
+            }
+
+            @Override
+            public Integer visit(SymbolicReference symbolicReference, Void context) {
+                return 0;
+            }
+
+            @Override
+            public Integer visit(Variable variable, Void context) {
+                return 0;
+            }
+        }, null);
+
+        assertThat(depth).isEqualTo(100_000);
+    }
+
+    private static class PrintingVisitor extends ContextFreeThunkExpressionVisitor<String>
+            implements IterativeThunkExpressionVisitor<String, Void> {
+
+        @Override
+        protected String visit(Scalar<?> scalar) {
+            return scalar.toString();
+        }
+
+        @Override
+        protected String visit(FunctionExpression<?> functionExpression) {
+            return ThunkExpressionTraversal.traverse(functionExpression, this, null);
+        }
+
+        @Override
+        protected String visit(SymbolicReference symbolicReference) {
+            return symbolicReference.toPath();
+        }
+
+        @Override
+        protected String visit(Variable variable) {
+            return variable.getName();
+        }
+
+        @Override
+        public String leave(FunctionExpression<?> functionExpression, List<String> terms, Void context) {
+            return terms.stream().collect(
+                    Collectors.joining(", ", functionExpression.getOperator().getKey() + "(", ")"));
+        }
+    }
+}
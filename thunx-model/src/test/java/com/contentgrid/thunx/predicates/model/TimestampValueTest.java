@@ -0,0 +1,33 @@
+package com.contentgrid.thunx.predicates.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class TimestampValueTest {
+
+    @Test
+    void equals() {
+        assertThat(Scalar.of(Instant.parse("2023-11-14T22:13:20Z")))
+                .isEqualTo(Scalar.of(Instant.ofEpochSecond(1_700_000_000)));
+    }
+
+    @Test
+    void notEquals() {
+        assertThat(Scalar.of(Instant.ofEpochSecond(1_700_000_000)))
+                .isNotEqualTo(Scalar.of(Instant.ofEpochSecond(1_700_000_000, 1)))
+                .isNotEqualTo(Scalar.of(1_700_000_000L));
+    }
+
+    @Test
+    void fingerprint_differsFromNumber() {
+        assertThat(Scalar.of(Instant.ofEpochSecond(42)).getFingerprint())
+                .isNotEqualTo(Scalar.of(42L).getFingerprint());
+    }
+
+    @Test
+    void timestampValue_toString() {
+        assertThat(Scalar.of(Instant.ofEpochSecond(1_700_000_000))).hasToString("2023-11-14T22:13:20Z");
+    }
+}
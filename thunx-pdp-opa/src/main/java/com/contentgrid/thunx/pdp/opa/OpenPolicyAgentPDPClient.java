@@ -5,16 +5,19 @@ import com.contentgrid.opa.client.api.CompileApi.PartialEvaluationRequest;
 import com.contentgrid.thunx.pdp.PolicyDecision;
 import com.contentgrid.thunx.pdp.PolicyDecisionPointClient;
 import com.contentgrid.thunx.pdp.PolicyDecisions;
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
+import com.contentgrid.thunx.predicates.model.ExpressionBudgetExceededException;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
-import com.contentgrid.thunx.visitor.reducer.ThunkReducerVisitor;
+import com.contentgrid.thunx.visitor.reducer.MemoizingThunkReducer;
+import com.contentgrid.thunx.visitor.reducer.ThunkExpressionCanonicalizer;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class OpenPolicyAgentPDPClient<A, R> implements PolicyDecisionPointClient<A, R> {
 
     @NonNull
@@ -23,6 +26,23 @@ public class OpenPolicyAgentPDPClient<A, R> implements PolicyDecisionPointClient
     private final OpaQueryProvider<R> queryProvider;
     @NonNull
     private final OpaInputProvider<A, R> inputProvider;
+    @NonNull
+    private final ExpressionBudget expressionBudget;
+    /**
+     * Caches the reductions of residuals, which tend to repeat
+     */
+    @NonNull
+    private final MemoizingThunkReducer thunkReducer;
+
+    public OpenPolicyAgentPDPClient(OpaClient opaClient, OpaQueryProvider<R> queryProvider,
+            OpaInputProvider<A, R> inputProvider) {
+        this(opaClient, queryProvider, inputProvider, ExpressionBudget.UNLIMITED);
+    }
+
+    public OpenPolicyAgentPDPClient(OpaClient opaClient, OpaQueryProvider<R> queryProvider,
+            OpaInputProvider<A, R> inputProvider, ExpressionBudget expressionBudget) {
+        this(opaClient, queryProvider, inputProvider, expressionBudget, new MemoizingThunkReducer());
+    }
 
     @Override
     public CompletableFuture<PolicyDecision> conditional(
@@ -45,17 +65,33 @@ public class OpenPolicyAgentPDPClient<A, R> implements PolicyDecisionPointClient
                     var converter = new QuerySetToThunkExpressionConverter();
                     return converter.convert(opaQuerySet);
                 })
-                .thenApply((ThunkExpression<Boolean> thunkExpression) -> {
-                    var reducedExpression = thunkExpression
-                            .accept(ThunkReducerVisitor.DEFAULT_INSTANCE, null)
-                            .assertResultType(Boolean.class);
-                    log.trace("Thunx expression:\n{}\nReduced to:\n{}", thunkExpression, reducedExpression);
-                    return ThunkExpression.maybeValue(reducedExpression)
-                            // if the expression can be resolved right now, there is no remaining predicate
-                            .map(result -> result? PolicyDecisions.allowed(): PolicyDecisions.denied())
-                            // there is a remaining predicate
-                            .orElse(PolicyDecisions.conditional(reducedExpression));
-                });
+                .thenApply(this::decide);
+    }
+
+    /**
+     * Reduces the residual policy to a decision. A residual that exceeds the {@link ExpressionBudget} is denied.
+     */
+    PolicyDecision decide(ThunkExpression<Boolean> thunkExpression) {
+        // residuals tend to repeat, reductions of (sub)expressions that were reduced before are cached
+        var reducedExpression = this.thunkReducer.reduce(thunkExpression)
+                // canonical term order, so equivalent residuals end up as equal expressions
+                .accept(ThunkExpressionCanonicalizer.DEFAULT_INSTANCE, null)
+                .assertResultType(Boolean.class);
+        log.trace("Thunx expression:\n{}\nReduced to:\n{}", thunkExpression, reducedExpression);
+
+        // reject runaway policy residuals, before they end up in a request header and a SQL query
+        try {
+            this.expressionBudget.enforce(reducedExpression);
+        } catch (ExpressionBudgetExceededException ex) {
+            log.warn("Denying access, policy residual rejected: {}", ex.getMessage());
+            return PolicyDecisions.denied();
+        }
+
+        return ThunkExpression.maybeValue(reducedExpression)
+                // if the expression can be resolved right now, there is no remaining predicate
+                .map(result -> result? PolicyDecisions.allowed(): PolicyDecisions.denied())
+                // there is a remaining predicate
+                .orElse(PolicyDecisions.conditional(reducedExpression));
     }
 
 }
@@ -18,12 +18,15 @@ import com.contentgrid.thunx.predicates.model.Comparison;
 import com.contentgrid.thunx.predicates.model.LogicalOperation;
 import com.contentgrid.thunx.predicates.model.NumericFunction;
 import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SetMembership;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
 import com.contentgrid.thunx.predicates.model.SymbolicReference.StringPathElement;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import com.contentgrid.thunx.predicates.model.Variable;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -43,7 +46,7 @@ public class QuerySetToThunkExpressionConverter {
             return queries.findFirst().orElseThrow();
         }
 
-        return LogicalOperation.disjunction(queries);
+        return LogicalOperation.flatDisjunction(queries);
     }
 
 
@@ -74,7 +77,7 @@ public class QuerySetToThunkExpressionConverter {
             return expressions.get(0);
         }
 
-        return LogicalOperation.conjunction(expressions);
+        return LogicalOperation.flatConjunction(expressions);
     }
 
     ThunkExpression<?> convert(com.contentgrid.opa.rego.ast.Expression expression) {
@@ -93,9 +96,90 @@ public class QuerySetToThunkExpressionConverter {
                 Map.entry("gt", Comparison::greater),
                 Map.entry("gte", Comparison::greaterOrEquals),
                 Map.entry("lt", Comparison::less),
-                Map.entry("lte", Comparison::lessOrEquals)
+                Map.entry("lte", Comparison::lessOrEquals),
+
+                Map.entry("startswith", Comparison::startsWith),
+                Map.entry("endswith", Comparison::endsWith),
+                Map.entry("contains", Comparison::contains)
         );
 
+        /**
+         * The {@code x in collection} expression is rewritten by OPA as {@code internal.member_2(x, collection)}
+         */
+        private static final String MEMBERSHIP = "internal.member_2";
+
+        private static final Set<String> COMPARISONS = Set.of("eq", "neq", "gt", "gte", "lt", "lte");
+
+        /**
+         * OPA built-ins that parse a timestamp into nanoseconds since the epoch
+         */
+        private static final Set<String> TIMESTAMP_PARSERS = Set.of("time.parse_rfc3339_ns");
+
+        /**
+         * A comparison with a timestamp parser, like {@code time.parse_rfc3339_ns(input.entity.published) < now}, is
+         * partially evaluated into {@code lt(time.parse_rfc3339_ns(input.entity.published), <nanoseconds>)}. This is
+         * converted into a comparison between the timestamp attribute and a timestamp scalar.
+         */
+        private List<ThunkExpression<?>> convertTimestampArguments(List<Term> terms) {
+            return terms.stream()
+                    .map(term -> {
+                        if (this.isTimestampParser(term)) {
+                            return ((Call) term).getValue().get(1).accept(this);
+                        } else if (term instanceof Numeric) {
+                            return Scalar.of(toTimestamp((Numeric) term));
+                        }
+                        return term.accept(this);
+                    })
+                    .collect(Collectors.toList());
+        }
+
+        private static Instant toTimestamp(Numeric term) {
+            var nanos = term.getValue();
+            try {
+                return Instant.ofEpochSecond(0, nanos.toBigIntegerExact().longValueExact());
+            } catch (ArithmeticException ex) {
+                var message = String.format("timestamp of <%s> nanoseconds not supported, "
+                        + "expected a whole number of nanoseconds that fits in a long", nanos);
+                throw new IllegalArgumentException(message, ex);
+            }
+        }
+
+        private ThunkExpression<?> convertMembership(List<Term> terms) {
+            if (terms.size() != 2) {
+                throw new IllegalArgumentException(MEMBERSHIP + " expects 2 arguments, but got " + terms.size());
+            }
+
+            List<Term> members;
+            if (terms.get(1) instanceof SetTerm) {
+                members = ((SetTerm) terms.get(1)).getValue();
+            } else if (terms.get(1) instanceof ArrayTerm) {
+                members = ((ArrayTerm) terms.get(1)).getValue();
+            } else {
+                var message = String.format("%s on <%s> not supported", MEMBERSHIP, terms.get(1).getClass().getName());
+                throw new UnsupportedOperationException(message);
+            }
+
+            if (members.isEmpty()) {
+                // nothing is a member of an empty collection
+                return Scalar.of(false);
+            }
+            return SetMembership.in(terms.get(0).accept(this),
+                    members.stream().map(term -> term.accept(this)).collect(Collectors.toList()));
+        }
+
+        private boolean isTimestampParser(Term term) {
+            if (!(term instanceof Call)) {
+                return false;
+            }
+            var callTerms = ((Call) term).getValue();
+            if (callTerms.size() != 2) {
+                return false;
+            }
+            var function = callTerms.get(0).accept(this);
+            return function instanceof SymbolicReference
+                    && TIMESTAMP_PARSERS.contains(((SymbolicReference) function).toPath());
+        }
+
         @Override
         public ThunkExpression<?> visit(QuerySet queries) {
             throw new UnsupportedOperationException();
@@ -159,9 +243,16 @@ public class QuerySetToThunkExpressionConverter {
                 // the first symbolic-ref would be a function name
                 var functionName = ((SymbolicReference) firstExpr).toPath();
                 // lookup function names
-                List<ThunkExpression<?>> args = expression.getTerms().stream().skip(1)
-                        .map(t -> t.accept(this))
-                        .collect(Collectors.toList());
+                var argTerms = expression.getTerms().subList(1, expression.getTerms().size());
+                if (MEMBERSHIP.equals(functionName)) {
+                    return this.convertMembership(argTerms);
+                }
+
+                var isTimestampComparison = COMPARISONS.contains(functionName)
+                        && argTerms.stream().anyMatch(this::isTimestampParser);
+                List<ThunkExpression<?>> args = isTimestampComparison
+                        ? this.convertTimestampArguments(argTerms)
+                        : argTerms.stream().map(t -> t.accept(this)).collect(Collectors.toList());
 
                 var operation = OPERATION_LOOKUP.get(functionName);
                 if (operation != null) {
@@ -0,0 +1,67 @@
+package com.contentgrid.thunx.pdp.opa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.contentgrid.opa.client.OpaClient;
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.visitor.reducer.MemoizingThunkReducer;
+import com.contentgrid.thunx.visitor.reducer.ThunkReducerVisitor;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OpenPolicyAgentPDPClientTest {
+
+    // entity.owner == 'alice' OR entity.level > 3
+    private static final LogicalOperation RESIDUAL = LogicalOperation.disjunction(
+            Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")),
+            Comparison.greater(SymbolicReference.parse("entity.level"), Scalar.of(3))
+    );
+
+    private static OpenPolicyAgentPDPClient<Object, Object> client(ExpressionBudget budget) {
+        return new OpenPolicyAgentPDPClient<>(mock(OpaClient.class), request -> "data.test.allow == true",
+                (auth, request) -> Map.of(), budget);
+    }
+
+    @Test
+    void residual_withinBudget_isConditional() {
+        var decision = client(ExpressionBudget.UNLIMITED.withMaxNodeCount(7)).decide(RESIDUAL);
+
+        assertThat(decision.isAllowed()).isTrue();
+        assertThat(decision.hasPredicate()).isTrue();
+    }
+
+    @Test
+    void residual_exceedingBudget_isDenied() {
+        var decision = client(ExpressionBudget.UNLIMITED.withMaxNodeCount(6)).decide(RESIDUAL);
+
+        assertThat(decision.isAllowed()).isFalse();
+        assertThat(decision.hasPredicate()).isFalse();
+    }
+
+    @Test
+    void residual_isReducedByInjectedReducer() {
+        var client = new OpenPolicyAgentPDPClient<Object, Object>(mock(OpaClient.class),
+                request -> "data.test.allow == true", (auth, request) -> Map.of(), ExpressionBudget.UNLIMITED,
+                new MemoizingThunkReducer(ThunkReducerVisitor.DEFAULT_INSTANCE, 10));
+
+        // 5 == 5 AND entity.owner == 'alice'
+        var decision = client.decide(LogicalOperation.conjunction(
+                Comparison.areEqual(Scalar.of(5), Scalar.of(5)),
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice"))
+        ));
+
+        assertThat(decision.getPredicate())
+                .isEqualTo(Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice")));
+    }
+
+    @Test
+    void constantResidual_isDecided() {
+        assertThat(client(ExpressionBudget.UNLIMITED).decide(Scalar.of(true)).isAllowed()).isTrue();
+        assertThat(client(ExpressionBudget.UNLIMITED).decide(Scalar.of(false)).isAllowed()).isFalse();
+    }
+}
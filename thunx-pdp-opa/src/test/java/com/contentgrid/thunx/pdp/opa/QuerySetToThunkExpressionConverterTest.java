@@ -1,5 +1,6 @@
 package com.contentgrid.thunx.pdp.opa;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 import com.contentgrid.opa.rego.ast.Expression;
@@ -9,7 +10,10 @@ import com.contentgrid.opa.rego.ast.Term;
 import com.contentgrid.thunx.predicates.model.Comparison;
 import com.contentgrid.thunx.predicates.model.LogicalOperation;
 import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SetMembership;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -135,7 +139,143 @@ class QuerySetToThunkExpressionConverterTest {
             ));
         }
 
+        @Test
+        void starts_with() {
+            // startswith(input.entity.path, "/tenant-a/")
+            var opaExpr = new Expression(0, List.of(
+                    new Term.Ref(List.of(new Term.Var("startswith"))),
+                    new Term.Ref(List.of(
+                            new Term.Var("input"),
+                            new Term.Text("entity"),
+                            new Term.Text("path")
+                    )),
+                    new Term.Text("/tenant-a/")
+            ));
+
+            assertThat(converter.convert(opaExpr)).isEqualTo(Comparison.startsWith(
+                    SymbolicReference.of("entity", path -> path.string("path")),
+                    Scalar.of("/tenant-a/")
+            ));
+        }
+
+        @Test
+        void ends_with() {
+            // endswith(input.entity.filename, ".pdf")
+            var opaExpr = new Expression(0, List.of(
+                    new Term.Ref(List.of(new Term.Var("endswith"))),
+                    new Term.Ref(List.of(
+                            new Term.Var("input"),
+                            new Term.Text("entity"),
+                            new Term.Text("filename")
+                    )),
+                    new Term.Text(".pdf")
+            ));
 
+            assertThat(converter.convert(opaExpr)).isEqualTo(Comparison.endsWith(
+                    SymbolicReference.of("entity", path -> path.string("filename")),
+                    Scalar.of(".pdf")
+            ));
+        }
+
+        @Test
+        void contains() {
+            // contains(input.entity.description, "confidential")
+            var opaExpr = new Expression(0, List.of(
+                    new Term.Ref(List.of(new Term.Var("contains"))),
+                    new Term.Ref(List.of(
+                            new Term.Var("input"),
+                            new Term.Text("entity"),
+                            new Term.Text("description")
+                    )),
+                    new Term.Text("confidential")
+            ));
+
+            assertThat(converter.convert(opaExpr)).isEqualTo(Comparison.contains(
+                    SymbolicReference.of("entity", path -> path.string("description")),
+                    Scalar.of("confidential")
+            ));
+        }
+
+        @Test
+        void membership() {
+            // input.entity.department in {"HR", "IT"}
+            var opaExpr = new Expression(0, List.of(
+                    new Term.Ref(List.of(new Term.Var("internal"), new Term.Text("member_2"))),
+                    new Term.Ref(List.of(
+                            new Term.Var("input"),
+                            new Term.Text("entity"),
+                            new Term.Text("department")
+                    )),
+                    new Term.SetTerm(List.of(new Term.Text("HR"), new Term.Text("IT")))
+            ));
+
+            assertThat(converter.convert(opaExpr)).isEqualTo(SetMembership.in(
+                    SymbolicReference.of("entity", path -> path.string("department")),
+                    Scalar.of("HR"),
+                    Scalar.of("IT")
+            ));
+        }
+
+        @Test
+        void membership_emptyArray() {
+            // input.entity.department in []
+            var opaExpr = new Expression(0, List.of(
+                    new Term.Ref(List.of(new Term.Var("internal"), new Term.Text("member_2"))),
+                    new Term.Ref(List.of(
+                            new Term.Var("input"),
+                            new Term.Text("entity"),
+                            new Term.Text("department")
+                    )),
+                    new Term.ArrayTerm(List.of())
+            ));
+
+            assertThat(converter.convert(opaExpr)).isEqualTo(Scalar.of(false));
+        }
+
+        @Test
+        void timestamp_less_than() {
+            // time.parse_rfc3339_ns(input.entity.published) < time.now_ns()
+            var opaExpr = new Expression(0, List.of(
+                    new Term.Ref(List.of(new Term.Var("lt"))),
+                    new Term.Call(List.of(
+                            new Term.Ref(List.of(new Term.Var("time"), new Term.Text("parse_rfc3339_ns"))),
+                            new Term.Ref(List.of(
+                                    new Term.Var("input"),
+                                    new Term.Text("entity"),
+                                    new Term.Text("published")
+                            ))
+                    )),
+                    new Term.Numeric(1_500_000_000)
+            ));
+
+            assertThat(converter.convert(opaExpr)).isEqualTo(Comparison.less(
+                    SymbolicReference.of("entity", path -> path.string("published")),
+                    Scalar.of(Instant.ofEpochSecond(1, 500_000_000))
+            ));
+        }
+
+        @Test
+        void timestamp_unsupportedNanos_shouldFail() {
+            for (var nanos : List.of(new BigDecimal("1.5"), new BigDecimal("1E+20"))) {
+                // time.parse_rfc3339_ns(input.entity.published) < <nanos>
+                var opaExpr = new Expression(0, List.of(
+                        new Term.Ref(List.of(new Term.Var("lt"))),
+                        new Term.Call(List.of(
+                                new Term.Ref(List.of(new Term.Var("time"), new Term.Text("parse_rfc3339_ns"))),
+                                new Term.Ref(List.of(
+                                        new Term.Var("input"),
+                                        new Term.Text("entity"),
+                                        new Term.Text("published")
+                                ))
+                        )),
+                        new Term.Numeric(nanos)
+                ));
+
+                assertThatThrownBy(() -> converter.convert(opaExpr))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining(nanos.toString());
+            }
+        }
     }
 
     @Test
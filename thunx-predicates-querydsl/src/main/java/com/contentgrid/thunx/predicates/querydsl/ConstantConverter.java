@@ -0,0 +1,26 @@
+package com.contentgrid.thunx.predicates.querydsl;
+
+/**
+ * Strategy interface for converting the constants of an expression to the type of the property they are compared
+ * with.
+ * <p>
+ * Comparing a property with a constant of the same type avoids casts in the database, so the predicate can use an
+ * index on the property, and it keeps the types of prepared statement parameters stable.
+ */
+@FunctionalInterface
+public interface ConstantConverter {
+
+    /**
+     * A converter that leaves all constants as they are.
+     */
+    ConstantConverter NONE = (value, targetType) -> value;
+
+    /**
+     * Converts a constant to the given type.
+     *
+     * @param value the constant, never {@code null}
+     * @param targetType the type of the property the constant is compared with, never a primitive type
+     * @return the converted constant, or the original constant when it can not be converted
+     */
+    Object convert(Object value, Class<?> targetType);
+}
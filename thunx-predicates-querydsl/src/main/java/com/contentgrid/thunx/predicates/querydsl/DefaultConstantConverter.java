@@ -0,0 +1,100 @@
+package com.contentgrid.thunx.predicates.querydsl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Converts constants between the types that are common for entity attributes: numbers of different types,
+ * {@link UUID}, enums and {@link Instant}, from their string form, and timestamps to {@link Date},
+ * {@link OffsetDateTime} or {@link ZonedDateTime} in UTC.
+ * <p>
+ * Conversions never lose information: a number that does not fit in the target type, including a number that a
+ * {@code double} or {@code float} can only approximate, or a string that can not be parsed, is left as it is.
+ */
+public class DefaultConstantConverter implements ConstantConverter {
+
+    @Override
+    public Object convert(Object value, Class<?> targetType) {
+        if (targetType.isInstance(value)) {
+            return value;
+        }
+
+        try {
+            if (value instanceof Number) {
+                return convertNumber((Number) value, targetType);
+            } else if (value instanceof String) {
+                return convertString((String) value, targetType);
+            } else if (value instanceof Instant) {
+                return convertInstant((Instant) value, targetType);
+            }
+        } catch (ArithmeticException | IllegalArgumentException | DateTimeParseException ex) {
+            // not representable in the target type, leave it to the database
+        }
+        return value;
+    }
+
+    private static Object convertNumber(Number value, Class<?> targetType) {
+        var decimal = value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+        if (targetType == Double.class) {
+            double result = decimal.doubleValue();
+            return requireExact(decimal, result, BigDecimal.valueOf(result));
+        } else if (targetType == Float.class) {
+            float result = decimal.floatValue();
+            return requireExact(decimal, result, new BigDecimal(Float.toString(result)));
+        } else if (targetType == Long.class) {
+            return decimal.longValueExact();
+        } else if (targetType == Integer.class) {
+            return decimal.intValueExact();
+        } else if (targetType == Short.class) {
+            return decimal.shortValueExact();
+        } else if (targetType == Byte.class) {
+            return decimal.byteValueExact();
+        } else if (targetType == BigInteger.class) {
+            return decimal.toBigIntegerExact();
+        } else if (targetType == BigDecimal.class) {
+            return decimal;
+        }
+        return value;
+    }
+
+    /**
+     * @throws ArithmeticException when the floating point result does not convert back to the original value
+     */
+    private static Object requireExact(BigDecimal value, Object result, BigDecimal roundTrip) {
+        if (roundTrip.compareTo(value) != 0) {
+            throw new ArithmeticException(String.format("%s can not be represented exactly as %s",
+                    value, result.getClass().getSimpleName()));
+        }
+        return result;
+    }
+
+    private static Object convertInstant(Instant value, Class<?> targetType) {
+        if (targetType == Date.class) {
+            return Date.from(value);
+        } else if (targetType == OffsetDateTime.class) {
+            return value.atOffset(ZoneOffset.UTC);
+        } else if (targetType == ZonedDateTime.class) {
+            return value.atZone(ZoneOffset.UTC);
+        }
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convertString(String value, Class<?> targetType) {
+        if (targetType == UUID.class) {
+            return UUID.fromString(value);
+        } else if (targetType.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) targetType, value);
+        } else if (targetType == Instant.class) {
+            return Instant.parse(value);
+        }
+        return value;
+    }
+}
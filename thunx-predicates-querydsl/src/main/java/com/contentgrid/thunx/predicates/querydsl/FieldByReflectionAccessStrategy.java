@@ -3,6 +3,8 @@ package com.contentgrid.thunx.predicates.querydsl;
 import com.querydsl.core.util.ReflectionUtils;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
 import java.util.Optional;
 import lombok.NonNull;
 import lombok.Value;
@@ -41,5 +43,19 @@ public class FieldByReflectionAccessStrategy implements PropertyAccessStrategy {
         public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
             return this.field.isAnnotationPresent(annotationClass);
         }
+
+        @Override
+        public Optional<Class<?>> getElementType() {
+            if (!Collection.class.isAssignableFrom(this.field.getType())
+                    || !(this.field.getGenericType() instanceof ParameterizedType)) {
+                return Optional.empty();
+            }
+
+            var typeArgument = ((ParameterizedType) this.field.getGenericType()).getActualTypeArguments()[0];
+            if (typeArgument instanceof ParameterizedType) {
+                typeArgument = ((ParameterizedType) typeArgument).getRawType();
+            }
+            return typeArgument instanceof Class<?> ? Optional.of((Class<?>) typeArgument) : Optional.empty();
+        }
     }
 }
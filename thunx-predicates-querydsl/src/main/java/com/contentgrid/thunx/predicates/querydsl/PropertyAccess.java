@@ -1,6 +1,7 @@
 package com.contentgrid.thunx.predicates.querydsl;
 
 import java.lang.annotation.Annotation;
+import java.util.Optional;
 
 public interface PropertyAccess {
 
@@ -13,4 +14,11 @@ public interface PropertyAccess {
         return getAnnotation(annotationClass) != null;
     }
 
+    /**
+     * @return the type of the elements, when this property is a collection
+     */
+    default Optional<Class<?>> getElementType() {
+        return Optional.empty();
+    }
+
 }
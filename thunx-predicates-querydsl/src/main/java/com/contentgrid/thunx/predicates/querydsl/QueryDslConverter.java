@@ -1,27 +1,55 @@
 package com.contentgrid.thunx.predicates.querydsl;
 
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
+import com.contentgrid.thunx.predicates.model.ExpressionBudgetExceededException;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.PathBuilder;
+import lombok.NonNull;
 
 public class QueryDslConverter {
 
     private final QueryDslConvertingVisitor visitor;
     private final PathBuilderFactory pathBuilderFactory;
+    private final ExpressionBudget expressionBudget;
 
     public QueryDslConverter(PropertyAccessStrategy propertyAccessStrategy, PathBuilderFactory pathBuilderFactory) {
-        this.visitor = new QueryDslConvertingVisitor(propertyAccessStrategy);
+        this(propertyAccessStrategy, pathBuilderFactory, ExpressionBudget.UNLIMITED);
+    }
+
+    /**
+     * @param expressionBudget the budget that expressions must fit in, before they are converted into a predicate
+     */
+    public QueryDslConverter(PropertyAccessStrategy propertyAccessStrategy, PathBuilderFactory pathBuilderFactory,
+            @NonNull ExpressionBudget expressionBudget) {
+        this(propertyAccessStrategy, pathBuilderFactory, expressionBudget, new DefaultConstantConverter());
+    }
+
+    /**
+     * @param expressionBudget the budget that expressions must fit in, before they are converted into a predicate
+     * @param constantConverter converts constants to the type of the property they are compared with
+     */
+    public QueryDslConverter(PropertyAccessStrategy propertyAccessStrategy, PathBuilderFactory pathBuilderFactory,
+            @NonNull ExpressionBudget expressionBudget, @NonNull ConstantConverter constantConverter) {
+        this.visitor = new QueryDslConvertingVisitor(propertyAccessStrategy, constantConverter);
         this.pathBuilderFactory = pathBuilderFactory;
+        this.expressionBudget = expressionBudget;
     }
 
+    /**
+     * @throws ExpressionBudgetExceededException when the expression exceeds the expression budget
+     */
     public Predicate from(ThunkExpression<Boolean> thunk, Class<?> domainType) {
         var entityPath = this.pathBuilderFactory.create(domainType);
         return this.from(thunk, entityPath);
     }
 
+    /**
+     * @throws ExpressionBudgetExceededException when the expression exceeds the expression budget
+     */
     public Predicate from(ThunkExpression<Boolean> thunk, PathBuilder<?> entityPath) {
+        this.expressionBudget.enforce(thunk);
         return (Predicate) thunk.accept(this.visitor, new QueryDslConversionContext(entityPath));
     }
 
 }
-
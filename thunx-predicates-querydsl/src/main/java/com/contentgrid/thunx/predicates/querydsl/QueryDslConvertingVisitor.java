@@ -1,23 +1,32 @@
 package com.contentgrid.thunx.predicates.querydsl;
 
 import com.contentgrid.thunx.predicates.model.FunctionExpression;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.IterativeThunkExpressionVisitor;
+import com.contentgrid.thunx.predicates.model.ReferencedPaths;
 import com.contentgrid.thunx.predicates.model.Scalar;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
 import com.contentgrid.thunx.predicates.model.SymbolicReference.PathElement;
 import com.contentgrid.thunx.predicates.model.SymbolicReference.PathElementVisitor;
-import com.contentgrid.thunx.predicates.model.ThunkExpressionVisitor;
+import com.contentgrid.thunx.predicates.model.SymbolicReference.VariablePathElement;
 import com.contentgrid.thunx.predicates.model.Variable;
+import com.querydsl.core.types.Constant;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.PathBuilder;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import jakarta.persistence.Embeddable;
 import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -27,14 +36,20 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
-class QueryDslConvertingVisitor implements ThunkExpressionVisitor<Expression<?>, QueryDslConversionContext> {
+class QueryDslConvertingVisitor implements IterativeThunkExpressionVisitor<Expression<?>, QueryDslConversionContext> {
 
     private final PropertyAccessStrategy accessStrategy;
 
+    private final ConstantConverter constantConverter;
+
     QueryDslConvertingVisitor() {
         this(new FieldByReflectionAccessStrategy());
     }
 
+    QueryDslConvertingVisitor(PropertyAccessStrategy accessStrategy) {
+        this(accessStrategy, new DefaultConstantConverter());
+    }
+
     @Override
     public Expression<?> visit(Scalar<?> scalar, QueryDslConversionContext context) {
         if (scalar == Scalar.nullValue()) {
@@ -44,36 +59,54 @@ class QueryDslConvertingVisitor implements ThunkExpressionVisitor<Expression<?>,
     }
 
     @Override
-    public Expression<?> visit(FunctionExpression<?> function, QueryDslConversionContext context) {
+    public Expression<?> leave(FunctionExpression<?> function, List<Expression<?>> terms,
+            QueryDslConversionContext context) {
 
-        // convert all the terms
-        var terms = function.getTerms().stream()
-                .map(term -> term.accept(this, context))
-                .collect(Collectors.toList());
+        if (function.getOperator() != Operator.OR) {
+            assertIndependentQuantifiers(function);
+        }
 
         switch (function.getOperator()) {
             case EQUALS:
                 assertTwoTerms(terms);
+                coerceConstants(terms);
                 return ExpressionUtils.eq((Expression<Object>) terms.get(0), terms.get(1));
             case NOT_EQUAL_TO:
                 assertTwoTerms(terms);
+                coerceConstants(terms);
                 return ExpressionUtils.ne(terms.get(0), (Expression<Object>) terms.get(1));
             case GREATER_THAN_OR_EQUAL_TO:
                 assertTwoTerms(terms);
+                coerceConstants(terms);
                 return Expressions.booleanOperation(Ops.GOE, terms.toArray(new Expression[0]));
             case GREATER_THAN:
                 assertTwoTerms(terms);
+                coerceConstants(terms);
                 return Expressions.booleanOperation(Ops.GT, terms.toArray(new Expression[0]));
             case LESS_THEN_OR_EQUAL_TO:
                 assertTwoTerms(terms);
+                coerceConstants(terms);
                 return Expressions.booleanOperation(Ops.LOE, terms.toArray(new Expression[0]));
             case LESS_THAN:
                 assertTwoTerms(terms);
+                coerceConstants(terms);
                 return Expressions.booleanOperation(Ops.LT, terms.toArray(new Expression[0]));
+            case STARTS_WITH:
+                // rendered as LIKE 'prefix%', which can use an index on the property
+                assertTwoTerms(terms);
+                return Expressions.booleanOperation(Ops.STARTS_WITH, terms.toArray(new Expression[0]));
+            case ENDS_WITH:
+                assertTwoTerms(terms);
+                return Expressions.booleanOperation(Ops.ENDS_WITH, terms.toArray(new Expression[0]));
+            case CONTAINS:
+                assertTwoTerms(terms);
+                return Expressions.booleanOperation(Ops.STRING_CONTAINS, terms.toArray(new Expression[0]));
+            case IN:
+                return in(terms);
             case OR:
-                return ExpressionUtils.anyOf(terms.stream().map(term -> (Predicate) term).collect(Collectors.toList()));
+                return ExpressionUtils.anyOf(toPredicates(terms));
             case AND:
-                return ExpressionUtils.allOf(terms.stream().map(term -> (Predicate) term).collect(Collectors.toList()));
+                return ExpressionUtils.allOf(toPredicates(terms));
             case NOT:
                 assertOneTerm(terms);
                 return Expressions.booleanOperation(Ops.NOT, terms.get(0));
@@ -83,6 +116,85 @@ class QueryDslConvertingVisitor implements ThunkExpressionVisitor<Expression<?>,
         }
     }
 
+    /**
+     * A set of constants becomes a single {@code IN} list. Any other set falls back to a disjunction of equalities.
+     */
+    private Expression<?> in(List<Expression<?>> terms) {
+        if (terms.size() < 2) {
+            throw new IllegalArgumentException("Operation requires 2 or more parameters.");
+        }
+
+        var left = (Expression<Object>) terms.get(0);
+        var values = terms.subList(1, terms.size());
+        if (!values.stream().allMatch(Constant.class::isInstance)) {
+            var equalities = new Predicate[values.size()];
+            for (int i = 0; i < equalities.length; i++) {
+                var pair = new ArrayList<Expression<?>>(List.of(left, values.get(i)));
+                coerceConstants(pair);
+                equalities[i] = ExpressionUtils.eq((Expression<Object>) pair.get(0), pair.get(1));
+            }
+            return ExpressionUtils.anyOf(equalities);
+        }
+
+        var constants = new ArrayList<Object>(values.size());
+        for (var value : values) {
+            var constant = left instanceof Path<?> ? this.coerce((Constant<?>) value, left.getType()) : value;
+            constants.add(((Constant<?>) constant).getConstant());
+        }
+        return ExpressionUtils.in(left, constants);
+    }
+
+    /**
+     * Converts a constant that is compared with a property to the type of that property, so the database does not
+     * need to cast the property.
+     */
+    private void coerceConstants(List<Expression<?>> terms) {
+        var left = terms.get(0);
+        var right = terms.get(1);
+        if (left instanceof Path<?> && right instanceof Constant<?>) {
+            terms.set(1, this.coerce((Constant<?>) right, left.getType()));
+        } else if (right instanceof Path<?> && left instanceof Constant<?>) {
+            terms.set(0, this.coerce((Constant<?>) left, right.getType()));
+        }
+    }
+
+    private Expression<?> coerce(Constant<?> constant, Class<?> propertyType) {
+        var targetType = propertyType.isPrimitive() ? MethodType.methodType(propertyType).wrap().returnType() : propertyType;
+        var value = constant.getConstant();
+        var converted = this.constantConverter.convert(value, targetType);
+        return converted == value ? constant : Expressions.constant(converted);
+    }
+
+    /**
+     * Every reference with a path variable is converted into its own {@code EXISTS} subquery. When terms of a
+     * function share a path variable, they have to hold for the same element of the collection, which separate
+     * subqueries can not guarantee. A disjunction is the exception: an existential distributes over {@code OR}.
+     */
+    private static void assertIndependentQuantifiers(FunctionExpression<?> function) {
+        var seen = new HashSet<Variable>();
+        for (var term : function.getTerms()) {
+            var variables = new HashSet<Variable>();
+            for (var reference : ReferencedPaths.of(term).getReferences()) {
+                variables.addAll(reference.getPathVariables());
+            }
+            for (var variable : variables) {
+                if (!seen.add(variable)) {
+                    var msg = String.format("Path variable '$%s' is shared by multiple terms of %s",
+                            variable.getName(), function);
+                    throw new UnsupportedOperationException(msg);
+                }
+            }
+        }
+    }
+
+    private static Predicate[] toPredicates(List<Expression<?>> terms) {
+        var predicates = new Predicate[terms.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = (Predicate) terms.get(i);
+        }
+        return predicates;
+    }
+
     private static void assertOneTerm(List<? extends Expression<?>> terms) {
         if (terms.size() != 1) {
             throw new IllegalArgumentException("Equal operation requires 1 parameters.");
@@ -103,13 +215,44 @@ class QueryDslConvertingVisitor implements ThunkExpressionVisitor<Expression<?>,
                     "Expected symbolic-ref subject named 'entity', but got '" + subject + "'");
         }
 
-        var path = symbolicReference.getPath();
         PathBuilder<?> builder = context.getPathBuilder();
-        for (var elem : path) {
-            builder = traversePath(symbolicReference, builder, getPathElementName(elem));
+        Class<?> elementType = null;
+        for (int i = 0; i < symbolicReference.pathLength(); i++) {
+            var elem = symbolicReference.pathElement(i);
+            if (elem instanceof VariablePathElement) {
+                var msg = String.format("Path variable '%s' in %s does not follow a property",
+                        elem, symbolicReference.toPath());
+                throw new UnsupportedOperationException(msg);
+            }
+
+            var pathElement = getPathElementName(elem);
+            if (i + 1 < symbolicReference.pathLength()
+                    && symbolicReference.pathElement(i + 1) instanceof VariablePathElement) {
+                // a path variable ranges over the elements of a collection: entity.tags[$x] == 'public' holds when
+                // some tag is 'public'
+                var owner = builder;
+                var property = findProperty(symbolicReference, owner, pathElement);
+                elementType = property.getElementType().orElseThrow(() -> {
+                    String msg = String.format("Property '%s' on %s is not a collection, while traversing %s",
+                            pathElement, owner.getType().getSimpleName(), symbolicReference.toPath());
+                    return new IllegalArgumentException(msg);
+                });
+
+                // any() is rendered as a correlated EXISTS subquery, an implicit join on a to-many relation would
+                // multiply the rows of the entity
+                builder = builder.getCollection(pathElement, elementType).any();
+                i++;
+            } else {
+                elementType = null;
+                builder = traversePath(symbolicReference, builder, pathElement);
+            }
         }
 
-        assertNotReferencingEntity(symbolicReference, builder);
+        if (elementType != null) {
+            assertNotReferencingEntity(symbolicReference, elementType);
+        } else {
+            assertNotReferencingEntity(symbolicReference, builder);
+        }
 
         return builder;
     }
@@ -134,18 +277,35 @@ class QueryDslConvertingVisitor implements ThunkExpressionVisitor<Expression<?>,
         }
     }
 
+    /**
+     * The elements of a collection can only be compared when they are attributes, not entities or embeddables.
+     */
+    private static void assertNotReferencingEntity(@NonNull SymbolicReference symbolicReference,
+            @NonNull Class<?> elementType) {
+        if (elementType.isAnnotationPresent(Entity.class) || elementType.isAnnotationPresent(Embeddable.class)) {
+            var msg = String.format("Cannot use `%s` as an expression, because it refers to %s, not an attribute.",
+                    symbolicReference, elementType.getName());
+            throw new IllegalArgumentException(msg);
+        }
+    }
+
     private PathBuilder<?> traversePath(SymbolicReference symbolicReference, PathBuilder<?> builder,
             String pathElement) {
 
         // we want to build a typed path, making sure the segments in the path are valid
-        var property = this.accessStrategy.getProperty(builder.getType(), pathElement).orElseThrow(() -> {
+        var property = findProperty(symbolicReference, builder, pathElement);
+
+        return builder.get(pathElement, property.getType());
+    }
+
+    private PropertyAccess findProperty(SymbolicReference symbolicReference, PathBuilder<?> builder,
+            String pathElement) {
+        return this.accessStrategy.getProperty(builder.getType(), pathElement).orElseThrow(() -> {
             String msg = String.format("Unknown property '%s' on %s, while traversing %s",
                     pathElement, builder.getType().getSimpleName(), symbolicReference.toPath());
             throw new IllegalArgumentException(msg);
 
         });
-
-        return builder.get(pathElement, property.getType());
     }
 
     private static String getPathElementName(PathElement elem) {
@@ -163,7 +323,9 @@ class QueryDslConvertingVisitor implements ThunkExpressionVisitor<Expression<?>,
 
             @Override
             public String visit(Variable variable) {
-                return variable.getName();
+                // path variables are quantifiers, they are handled while traversing the path
+                var msg = String.format("cannot traverse symbolic reference using variable %s", variable.getName());
+                throw new UnsupportedOperationException(msg);
             }
         });
     }
@@ -4,16 +4,32 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
+import com.contentgrid.thunx.predicates.model.ExpressionBudgetExceededException;
 import com.contentgrid.thunx.predicates.model.LogicalOperation;
 import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SetMembership;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathType;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.PathBuilder;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Embeddable;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -26,12 +42,20 @@ class QueryDslConverterTest {
     static class Document {
 
         int security;
+        double rating;
         boolean confidential;
+        OffsetDateTime published;
 
         @Embedded
         Content content;
 
         Department department;
+
+        @ElementCollection
+        Set<String> tags;
+
+        @OneToMany
+        List<Person> readers;
     }
 
     static class Department {
@@ -144,6 +168,65 @@ class QueryDslConverterTest {
                     .hasToString("document.security <= 5");
         }
 
+        @Test
+        void starts_with() {
+            // startswith(document.content.filename, 'tenant-a/')
+            var thunkExpression = Comparison.startsWith(
+                    SymbolicReference.of("entity", path -> path.string("content").string("filename")),
+                    Scalar.of("tenant-a/")
+            );
+
+            var predicate = (Operation<?>) converter.from(thunkExpression, Document.class);
+
+            assertThat(predicate.getOperator()).isEqualTo(Ops.STARTS_WITH);
+            assertThat(predicate.getArgs()).hasSize(2);
+            assertThat(predicate.getArg(0)).hasToString("document.content.filename");
+            assertThat(((Constant<?>) predicate.getArg(1)).getConstant()).isEqualTo("tenant-a/");
+        }
+
+        @Test
+        void ends_with() {
+            // endswith(document.content.filename, '.pdf')
+            var thunkExpression = Comparison.endsWith(
+                    SymbolicReference.of("entity", path -> path.string("content").string("filename")),
+                    Scalar.of(".pdf")
+            );
+
+            var predicate = (Operation<?>) converter.from(thunkExpression, Document.class);
+
+            assertThat(predicate.getOperator()).isEqualTo(Ops.ENDS_WITH);
+            assertThat(((Constant<?>) predicate.getArg(1)).getConstant()).isEqualTo(".pdf");
+        }
+
+        @Test
+        void contains() {
+            // contains(document.content.filename, 'report')
+            var thunkExpression = Comparison.contains(
+                    SymbolicReference.of("entity", path -> path.string("content").string("filename")),
+                    Scalar.of("report")
+            );
+
+            var predicate = (Operation<?>) converter.from(thunkExpression, Document.class);
+
+            assertThat(predicate.getOperator()).isEqualTo(Ops.STRING_CONTAINS);
+            assertThat(((Constant<?>) predicate.getArg(1)).getConstant()).isEqualTo("report");
+        }
+
+        @Test
+        void membership() {
+            // document.security IN (5, 8, 10)
+            var thunkExpression = SetMembership.in(
+                    SymbolicReference.of("entity", path -> path.string("security")),
+                    Scalar.of(5), Scalar.of(8), Scalar.of(10)
+            );
+
+            var predicate = (Operation<?>) converter.from(thunkExpression, Document.class);
+
+            assertThat(predicate.getOperator()).isEqualTo(Ops.IN);
+            assertThat(predicate.getArg(0)).hasToString("document.security");
+            assertThat((Iterable<?>) ((Constant<?>) predicate.getArg(1)).getConstant()).containsExactly(5, 8, 10);
+        }
+
         @Test
         void disjunction() {
             // document.security == 5 OR document.security == 10 OR document.security == 8
@@ -203,6 +286,219 @@ class QueryDslConverterTest {
 
     }
 
+    @Nested
+    class Constants {
+
+        private Object constantOf(Predicate predicate) {
+            var operation = (Operation<?>) predicate;
+            return ((Constant<?>) operation.getArg(1)).getConstant();
+        }
+
+        @Test
+        void number_convertedToPropertyType() {
+            // document.security == 5
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("security")),
+                    Scalar.of(5)
+            );
+
+            assertThat(constantOf(converter.from(thunkExpression, Document.class))).isEqualTo(5);
+        }
+
+        @Test
+        void number_notRepresentable_isUnchanged() {
+            // document.security < 5.5
+            var thunkExpression = Comparison.less(
+                    SymbolicReference.of("entity", path -> path.string("security")),
+                    Scalar.of(5.5)
+            );
+
+            assertThat(constantOf(converter.from(thunkExpression, Document.class))).isEqualTo(new BigDecimal("5.5"));
+        }
+
+        @Test
+        void number_convertedToDouble() {
+            // document.rating == 5
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("rating")),
+                    Scalar.of(5)
+            );
+
+            assertThat(constantOf(converter.from(thunkExpression, Document.class))).isEqualTo(5.0D);
+        }
+
+        @Test
+        void number_notExactlyRepresentableAsDouble_isUnchanged() {
+            // document.rating == 2^53 + 1
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("rating")),
+                    Scalar.of(9007199254740993L)
+            );
+
+            assertThat(constantOf(converter.from(thunkExpression, Document.class)))
+                    .isEqualTo(BigDecimal.valueOf(9007199254740993L));
+        }
+
+        @Test
+        void string_convertedToUuid() {
+            // document.content.id == '...'
+            var id = UUID.randomUUID();
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("content").string("id")),
+                    Scalar.of(id.toString())
+            );
+
+            assertThat(constantOf(converter.from(thunkExpression, Document.class))).isEqualTo(id);
+        }
+
+        @Test
+        void timestamp_convertedToPropertyType() {
+            // document.published < '2023-11-14T22:13:20Z'
+            var published = Instant.parse("2023-11-14T22:13:20Z");
+            var thunkExpression = Comparison.less(
+                    SymbolicReference.of("entity", path -> path.string("published")),
+                    Scalar.of(published)
+            );
+
+            assertThat(constantOf(converter.from(thunkExpression, Document.class)))
+                    .isEqualTo(published.atOffset(ZoneOffset.UTC));
+        }
+
+        @Test
+        void constantOnTheLeft_convertedToPropertyType() {
+            // 5 < document.security
+            var thunkExpression = Comparison.less(
+                    Scalar.of(5),
+                    SymbolicReference.of("entity", path -> path.string("security"))
+            );
+
+            var operation = (Operation<?>) converter.from(thunkExpression, Document.class);
+            assertThat(((Constant<?>) operation.getArg(0)).getConstant()).isEqualTo(5);
+        }
+    }
+
+
+    @Nested
+    class PathVariables {
+
+        private Path<?> parentOf(Predicate predicate) {
+            var path = (Path<?>) ((Operation<?>) predicate).getArg(0);
+            return path.getMetadata().getParent();
+        }
+
+        @Test
+        void elementCollection_isQuantified() {
+            // document.tags[_] == 'public'
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("tags").var("x")),
+                    Scalar.of("public")
+            );
+
+            var predicate = (Operation<?>) converter.from(thunkExpression, Document.class);
+
+            var element = (Path<?>) predicate.getArg(0);
+            assertThat(element.getMetadata().getPathType()).isEqualTo(PathType.COLLECTION_ANY);
+            assertThat(element.getMetadata().getParent()).hasToString("document.tags");
+            assertThat(element.getType()).isEqualTo(String.class);
+        }
+
+        @Test
+        void relation_isQuantified() {
+            // document.readers[_].name == 'alice'
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("readers").var("x").string("name")),
+                    Scalar.of("alice")
+            );
+
+            var predicate = converter.from(thunkExpression, Document.class);
+
+            assertThat(parentOf(predicate).getMetadata().getPathType()).isEqualTo(PathType.COLLECTION_ANY);
+            assertThat(parentOf(predicate).getType()).isEqualTo(Person.class);
+        }
+
+        @Test
+        void compare_relationElement_shouldThrow() {
+            // document.readers[_] == 'alice'
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("readers").var("x")),
+                    Scalar.of("alice")
+            );
+
+            assertThatThrownBy(() -> converter.from(thunkExpression, Document.class))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void notACollection_shouldThrow() {
+            // document.security[_] == 5
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("security").var("x")),
+                    Scalar.of(5)
+            );
+
+            assertThatThrownBy(() -> converter.from(thunkExpression, Document.class))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Property 'security' on Document is not a collection, while traversing entity.security.$x");
+        }
+
+        @Test
+        void sharedVariableInConjunction_shouldThrow() {
+            // document.readers[x].name == 'alice' AND document.readers[x].name == 'bob'
+            var thunkExpression = LogicalOperation.conjunction(
+                    Comparison.areEqual(
+                            SymbolicReference.of("entity", path -> path.string("readers").var("x").string("name")),
+                            Scalar.of("alice")),
+                    Comparison.areEqual(
+                            SymbolicReference.of("entity", path -> path.string("readers").var("x").string("name")),
+                            Scalar.of("bob"))
+            );
+
+            assertThatThrownBy(() -> converter.from(thunkExpression, Document.class))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        void sharedVariableInComparison_shouldThrow() {
+            // document.readers[x].name == document.readers[x].name
+            var thunkExpression = Comparison.areEqual(
+                    SymbolicReference.of("entity", path -> path.string("readers").var("x").string("name")),
+                    SymbolicReference.of("entity", path -> path.string("readers").var("x").string("name"))
+            );
+
+            assertThatThrownBy(() -> converter.from(thunkExpression, Document.class))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        void sharedVariableInSetMembership_shouldThrow() {
+            // document.tags[x] in { document.tags[x], 'public' }
+            var thunkExpression = SetMembership.in(
+                    SymbolicReference.of("entity", path -> path.string("tags").var("x")),
+                    SymbolicReference.of("entity", path -> path.string("tags").var("x")),
+                    Scalar.of("public")
+            );
+
+            assertThatThrownBy(() -> converter.from(thunkExpression, Document.class))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        void sharedVariableInDisjunction_isQuantifiedPerTerm() {
+            // document.tags[x] == 'public' OR document.tags[x] == 'shared'
+            var thunkExpression = LogicalOperation.disjunction(
+                    Comparison.areEqual(
+                            SymbolicReference.of("entity", path -> path.string("tags").var("x")),
+                            Scalar.of("public")),
+                    Comparison.areEqual(
+                            SymbolicReference.of("entity", path -> path.string("tags").var("x")),
+                            Scalar.of("shared"))
+            );
+
+            var predicate = (Operation<?>) converter.from(thunkExpression, Document.class);
+
+            assertThat(predicate.getOperator()).isEqualTo(Ops.OR);
+        }
+    }
 
     @Nested
     class Symbolic {
@@ -274,4 +570,38 @@ class QueryDslConverterTest {
                     .isInstanceOf(IllegalArgumentException.class);
         }
     }
+
+    @Nested
+    class Budget {
+
+        private final QueryDslConverter budgetConverter = new QueryDslConverter(new FieldByReflectionAccessStrategy(),
+                domainType -> new PathBuilder<>(domainType, domainType.getSimpleName().toLowerCase(Locale.ROOT)),
+                ExpressionBudget.UNLIMITED.withMaxFanOut(3));
+
+        @Test
+        void withinBudget_isConverted() {
+            // document.security IN (5, 8)
+            var thunkExpression = SetMembership.in(
+                    SymbolicReference.of("entity", path -> path.string("security")),
+                    Scalar.of(5), Scalar.of(8)
+            );
+
+            var predicate = (Operation<?>) budgetConverter.from(thunkExpression, Document.class);
+
+            assertThat(predicate.getOperator()).isEqualTo(Ops.IN);
+        }
+
+        @Test
+        void exceedingBudget_shouldThrow() {
+            // document.security IN (5, 8, 10)
+            var thunkExpression = SetMembership.in(
+                    SymbolicReference.of("entity", path -> path.string("security")),
+                    Scalar.of(5), Scalar.of(8), Scalar.of(10)
+            );
+
+            assertThatThrownBy(() -> budgetConverter.from(thunkExpression, Document.class))
+                    .isInstanceOf(ExpressionBudgetExceededException.class)
+                    .hasMessage("Expression complexity (nodes=1, depth=1, references=0, fan-out=4) exceeds budget (fan-out<=3)");
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.contentgrid.thunx.spring.data.querydsl;
 
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
+import com.contentgrid.thunx.predicates.querydsl.ConstantConverter;
+import com.contentgrid.thunx.predicates.querydsl.DefaultConstantConverter;
 import com.contentgrid.thunx.predicates.querydsl.FieldByReflectionAccessStrategy;
 import com.contentgrid.thunx.predicates.querydsl.QueryDslConverter;
 import com.contentgrid.thunx.spring.data.context.AbacContextSupplier;
@@ -23,10 +26,25 @@ public class AbacQuerydslPredicateResolver implements QuerydslPredicateResolver
     private final AbacContextSupplier abacContextSupplier;
 
     public AbacQuerydslPredicateResolver(EntityPathResolver resolver, AbacContextSupplier abacContextSupplier) {
+        this(resolver, abacContextSupplier, new DefaultConstantConverter());
+    }
+
+    public AbacQuerydslPredicateResolver(EntityPathResolver resolver, AbacContextSupplier abacContextSupplier,
+            ConstantConverter constantConverter) {
+        this(resolver, abacContextSupplier, constantConverter, ExpressionBudget.UNLIMITED);
+    }
+
+    /**
+     * @param expressionBudget the budget that the abac context must fit in before it is converted
+     */
+    public AbacQuerydslPredicateResolver(EntityPathResolver resolver, AbacContextSupplier abacContextSupplier,
+            ConstantConverter constantConverter, ExpressionBudget expressionBudget) {
 
         this.queryDslConverter = new QueryDslConverter(
                 new FieldByReflectionAccessStrategy(),
-                new EntityPathResolverBasedPathBuilderFactory(resolver)
+                new EntityPathResolverBasedPathBuilderFactory(resolver),
+                expressionBudget,
+                constantConverter
         );
         this.abacContextSupplier = abacContextSupplier;
     }
@@ -38,7 +56,7 @@ public class AbacQuerydslPredicateResolver implements QuerydslPredicateResolver
         if (abacContext != null) {
             Predicate queryDslPredicate = this.queryDslConverter.from(abacContext, domainType);
             Assert.notNull(queryDslPredicate, "abac expression cannot be null");
-            log.debug("ABAC Querydsl Predicate: {}", queryDslPredicate);
+            log.debug("ABAC Querydsl Predicate [{}]: {}", abacContext.getFingerprint(), queryDslPredicate);
             return Optional.of(new AllOperationPredicates(queryDslPredicate));
         }
         return Optional.empty();
@@ -0,0 +1,52 @@
+package com.contentgrid.thunx.spring.data.querydsl;
+
+import com.contentgrid.thunx.predicates.querydsl.ConstantConverter;
+import com.contentgrid.thunx.predicates.querydsl.DefaultConstantConverter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+
+/**
+ * {@link ConstantConverter} that converts constants with a Spring {@link ConversionService}, so the conversions that
+ * are registered for the application also apply to ABAC predicates.
+ * <p>
+ * The base converter is tried first, the conversion service only converts the constants that the base converter
+ * leaves as they are. Numbers are never passed to the conversion service, because its conversions between number
+ * types may lose precision.
+ */
+@RequiredArgsConstructor
+public class ConversionServiceConstantConverter implements ConstantConverter {
+
+    @NonNull
+    private final ConversionService conversionService;
+
+    @NonNull
+    private final ConstantConverter baseConverter;
+
+    public ConversionServiceConstantConverter(ConversionService conversionService) {
+        this(conversionService, new DefaultConstantConverter());
+    }
+
+    @Override
+    public Object convert(Object value, Class<?> targetType) {
+        var converted = this.baseConverter.convert(value, targetType);
+
+        // number conversions of a conversion service may round, only the exact conversions of the base converter apply
+        if (targetType.isInstance(converted) || value instanceof Number) {
+            return converted;
+        }
+
+        if (this.conversionService.canConvert(value.getClass(), targetType)) {
+            try {
+                var result = this.conversionService.convert(value, targetType);
+                if (result != null) {
+                    return result;
+                }
+            } catch (ConversionException ex) {
+                // not convertible, leave it to the database
+            }
+        }
+        return converted;
+    }
+}
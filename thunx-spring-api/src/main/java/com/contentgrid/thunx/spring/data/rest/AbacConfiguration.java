@@ -2,13 +2,16 @@ package com.contentgrid.thunx.spring.data.rest;
 
 import com.contentgrid.thunx.encoding.ThunkExpressionDecoder;
 import com.contentgrid.thunx.encoding.json.JsonThunkExpressionCoder;
+import com.contentgrid.thunx.predicates.model.ExpressionBudget;
 import com.contentgrid.thunx.spring.data.context.AbacContextSupplier;
 import com.contentgrid.thunx.spring.data.querydsl.AbacQuerydslPredicateResolver;
+import com.contentgrid.thunx.spring.data.querydsl.ConversionServiceConstantConverter;
 import com.contentgrid.thunx.spring.data.querydsl.predicate.injector.repository.RepositoryInvokerAdapterFactory;
 import com.contentgrid.thunx.spring.data.querydsl.predicate.injector.resolver.QuerydslPredicateResolver;
 import org.springframework.aop.framework.Advised;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.ApplicationContext;
@@ -24,9 +27,12 @@ import org.springframework.transaction.PlatformTransactionManager;
 @Configuration
 public class AbacConfiguration {
 
+    /**
+     * The decoder and the predicate resolver enforce the {@link ExpressionBudget} bean, when there is one
+     */
     @Bean
-    public ThunkExpressionDecoder thunkDecoder() {
-        return new JsonThunkExpressionCoder();
+    public ThunkExpressionDecoder thunkDecoder(ObjectProvider<ExpressionBudget> expressionBudget) {
+        return new JsonThunkExpressionCoder(expressionBudget(expressionBudget));
     }
 
     @Bean
@@ -51,8 +57,19 @@ public class AbacConfiguration {
 
     @Bean
     public QuerydslPredicateResolver abacQuerydslPredicateResolver(QuerydslBindingsFactory querydslBindingsFactory,
-            AbacContextSupplier abacContextSupplier) {
-        return new AbacQuerydslPredicateResolver(querydslBindingsFactory.getEntityPathResolver(), abacContextSupplier);
+            AbacContextSupplier abacContextSupplier,
+            @Qualifier("defaultConversionService") ConversionService conversionService,
+            ObjectProvider<ExpressionBudget> expressionBudget) {
+        return new AbacQuerydslPredicateResolver(
+                querydslBindingsFactory.getEntityPathResolver(),
+                abacContextSupplier,
+                new ConversionServiceConstantConverter(conversionService),
+                expressionBudget(expressionBudget)
+        );
+    }
+
+    private static ExpressionBudget expressionBudget(ObjectProvider<ExpressionBudget> expressionBudget) {
+        return expressionBudget.getIfAvailable(() -> ExpressionBudget.UNLIMITED);
     }
 
     @Bean
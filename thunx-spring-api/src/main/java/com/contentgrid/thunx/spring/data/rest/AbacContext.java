@@ -1,17 +1,26 @@
 package com.contentgrid.thunx.spring.data.rest;
 
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.function.Supplier;
 
 class AbacContext {
 
-    private static ThreadLocal<ThunkExpression<Boolean>> currentAbacContext = new InheritableThreadLocal<ThunkExpression<Boolean>>();
+    private static ThreadLocal<Supplier<ThunkExpression<Boolean>>> currentAbacContext = new InheritableThreadLocal<Supplier<ThunkExpression<Boolean>>>();
 
     public static ThunkExpression<Boolean> getCurrentAbacContext() {
-        return currentAbacContext.get();
+        var supplier = currentAbacContext.get();
+        return supplier == null ? null : supplier.get();
     }
 
     public static void setCurrentAbacContext(ThunkExpression<Boolean> expression) {
-        currentAbacContext.set(expression);
+        currentAbacContext.set(expression == null ? null : () -> expression);
+    }
+
+    /**
+     * Sets a supplier for the current ABAC context, which is only called when the context is accessed.
+     */
+    public static void setCurrentAbacContextSupplier(Supplier<ThunkExpression<Boolean>> supplier) {
+        currentAbacContext.set(supplier);
     }
 
     public static void clear() {
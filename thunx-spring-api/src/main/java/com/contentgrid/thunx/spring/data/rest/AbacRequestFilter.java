@@ -1,18 +1,14 @@
 package com.contentgrid.thunx.spring.data.rest;
 
 import com.contentgrid.thunx.encoding.ThunkExpressionDecoder;
-import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import java.io.IOException;
-import java.util.Base64;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 public class AbacRequestFilter implements Filter {
 
     private final ThunkExpressionDecoder thunkDecoder;
@@ -29,18 +25,24 @@ public class AbacRequestFilter implements Filter {
         HttpServletRequest request = (HttpServletRequest) servletRequest;
 
         String abacContext = request.getHeader("X-ABAC-Context");
-        if (abacContext != null) {
-            byte[] abacContextBytes = Base64.getDecoder().decode(abacContext);
-            // which (version of?) decoder should we use ? -> get that info from JWT or other header ?
-            ThunkExpression<Boolean> abacExpression = this.thunkDecoder.decode(abacContextBytes);
-            log.debug("ABAC Context: {}", abacExpression);
-            AbacContext.setCurrentAbacContext(abacExpression);
-        } else {
+        if (abacContext == null) {
             throw new IllegalArgumentException("No X-ABAC-Context context present.");
         }
 
-        filterChain.doFilter(servletRequest, servletResponse);
-
-        AbacContext.clear();
+        // decoding is deferred until the context is used, many requests never need it
+        var lazyAbacContext = new LazyAbacContext(this.thunkDecoder, abacContext);
+        AbacContext.setCurrentAbacContextSupplier(lazyAbacContext);
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            // fail with the decoding error itself, like when the header was decoded before the filter chain
+            var decodingFailure = lazyAbacContext.getFailure();
+            if (decodingFailure != null) {
+                throw decodingFailure;
+            }
+            throw ex;
+        } finally {
+            AbacContext.clear();
+        }
     }
 }
@@ -0,0 +1,59 @@
+package com.contentgrid.thunx.spring.data.rest;
+
+import com.contentgrid.thunx.encoding.ThunkExpressionDecoder;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.Base64;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The ABAC context of a request, decoded from the {@code X-ABAC-Context} header when it is first accessed.
+ * <p>
+ * Decoding happens at most once per request. When decoding fails, every access throws the same exception.
+ */
+@Slf4j
+class LazyAbacContext implements Supplier<ThunkExpression<Boolean>> {
+
+    private final ThunkExpressionDecoder thunkDecoder;
+
+    private String encodedContext;
+
+    private ThunkExpression<Boolean> expression;
+
+    private RuntimeException failure;
+
+    LazyAbacContext(@NonNull ThunkExpressionDecoder thunkDecoder, @NonNull String encodedContext) {
+        this.thunkDecoder = thunkDecoder;
+        this.encodedContext = encodedContext;
+    }
+
+    @Override
+    public synchronized ThunkExpression<Boolean> get() {
+        if (this.encodedContext != null) {
+            try {
+                byte[] abacContextBytes = Base64.getDecoder().decode(this.encodedContext);
+                // which (version of?) decoder should we use ? -> get that info from JWT or other header ?
+                this.expression = this.thunkDecoder.decode(abacContextBytes);
+                log.debug("ABAC Context [{}]: {}", this.expression.getFingerprint(), this.expression);
+            } catch (RuntimeException ex) {
+                this.failure = ex;
+            } finally {
+                // the header is no longer needed, whatever the outcome
+                this.encodedContext = null;
+            }
+        }
+
+        if (this.failure != null) {
+            throw this.failure;
+        }
+        return this.expression;
+    }
+
+    /**
+     * @return the exception that decoding failed with, or {@code null} when decoding did not fail (yet)
+     */
+    synchronized RuntimeException getFailure() {
+        return this.failure;
+    }
+}
@@ -0,0 +1,120 @@
+package com.contentgrid.thunx.spring.data.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.thunx.encoding.ThunkExpressionDecoder;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import jakarta.servlet.ServletException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AbacRequestFilterTest {
+
+    private final AtomicInteger decodeCount = new AtomicInteger();
+
+    private final ThunkExpressionDecoder decoder = data -> {
+        decodeCount.incrementAndGet();
+        if (!"true".equals(new String(data, StandardCharsets.UTF_8))) {
+            throw new IllegalArgumentException("invalid expression");
+        }
+        return Scalar.of(true);
+    };
+
+    private static MockHttpServletRequest request(String abacContext) {
+        var request = new MockHttpServletRequest();
+        request.addHeader("X-ABAC-Context",
+                Base64.getEncoder().encodeToString(abacContext.getBytes(StandardCharsets.UTF_8)));
+        return request;
+    }
+
+    @Test
+    void abacContext_isDecodedOnFirstAccess() throws Exception {
+        var filter = new AbacRequestFilter(decoder);
+
+        filter.doFilter(request("true"), new MockHttpServletResponse(), (req, res) -> {
+            assertThat(decodeCount).hasValue(0);
+            assertThat(AbacContext.getCurrentAbacContext()).isEqualTo(Scalar.of(true));
+            assertThat(AbacContext.getCurrentAbacContext()).isEqualTo(Scalar.of(true));
+        });
+
+        assertThat(decodeCount).hasValue(1);
+        assertThat(AbacContext.getCurrentAbacContext()).isNull();
+    }
+
+    @Test
+    void abacContext_unused_isNotDecoded() throws Exception {
+        var filter = new AbacRequestFilter(decoder);
+
+        filter.doFilter(request("true"), new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        assertThat(decodeCount).hasValue(0);
+    }
+
+    @Test
+    void abacContext_invalid_failsOnAccess() throws Exception {
+        var filter = new AbacRequestFilter(decoder);
+
+        filter.doFilter(request("invalid"), new MockHttpServletResponse(), (req, res) -> {
+            assertThatThrownBy(AbacContext::getCurrentAbacContext).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(AbacContext::getCurrentAbacContext).isInstanceOf(IllegalArgumentException.class);
+        });
+
+        assertThat(decodeCount).hasValue(1);
+    }
+
+    @Test
+    void abacContext_invalid_failsRequestWithDecodingError() {
+        var filter = new AbacRequestFilter(decoder);
+
+        assertThatThrownBy(() -> filter.doFilter(request("invalid"), new MockHttpServletResponse(),
+                (req, res) -> AbacContext.getCurrentAbacContext()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid expression");
+
+        assertThat(AbacContext.getCurrentAbacContext()).isNull();
+    }
+
+    @Test
+    void abacContext_invalid_wrappedDownstream_failsRequestWithDecodingError() {
+        var filter = new AbacRequestFilter(decoder);
+
+        assertThatThrownBy(() -> filter.doFilter(request("invalid"), new MockHttpServletResponse(), (req, res) -> {
+            try {
+                AbacContext.getCurrentAbacContext();
+            } catch (IllegalArgumentException ex) {
+                throw new ServletException("Request processing failed", ex);
+            }
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid expression");
+    }
+
+    @Test
+    void abacContext_invalidBase64_failsRequestWithDecodingError() {
+        var filter = new AbacRequestFilter(decoder);
+        var request = new MockHttpServletRequest();
+        request.addHeader("X-ABAC-Context", "not base64!");
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> AbacContext.getCurrentAbacContext()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(decodeCount).hasValue(0);
+    }
+
+    @Test
+    void abacContext_missing_failsImmediately() {
+        var filter = new AbacRequestFilter(decoder);
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (req, res) -> {
+                }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -65,6 +65,7 @@ public class AbacGatewayFilterFactory extends AbstractGatewayFilterFactory<AbacG
         if (thunkExpression != null) {
             var data = this.encoder.encode(thunkExpression);
             var encoded = Base64.getEncoder().encodeToString(data);
+            LOGGER.debug("Adding ABAC context [{}] ({} bytes) to request", thunkExpression.getFingerprint(), encoded.length());
             var request = exchange.getRequest()
                     .mutate()
                     .header(ABAC_CONTEXT_HEADER, encoded)
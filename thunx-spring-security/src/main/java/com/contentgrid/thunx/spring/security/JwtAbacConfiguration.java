@@ -1,7 +1,10 @@
 package com.contentgrid.thunx.spring.security;
 
 import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import com.contentgrid.thunx.spring.data.context.AbacContextSupplier;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,14 +14,25 @@ public class JwtAbacConfiguration {
 
     @Bean
     public AbacContextSupplier jwtAbacContextSupplier() {
-        return () -> SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getAuthorities()
-                .stream()
-                .filter(authority -> authority instanceof AbacContextAuthority)
-                .map(AbacContextAuthority.class::cast)
-                .map(AbacContextAuthority::getExpression)
-                .reduce(LogicalOperation::disjunction)
-                .orElse(null);
+        return () -> {
+            List<ThunkExpression<Boolean>> expressions = SecurityContextHolder.getContext()
+                    .getAuthentication()
+                    .getAuthorities()
+                    .stream()
+                    .filter(authority -> authority instanceof AbacContextAuthority)
+                    .map(AbacContextAuthority.class::cast)
+                    .map(AbacContextAuthority::getExpression)
+                    .collect(Collectors.toList());
+
+            switch (expressions.size()) {
+                case 0:
+                    return null;
+                case 1:
+                    return expressions.get(0);
+                default:
+                    // a single n-ary disjunction, instead of nesting a binary disjunction per authority
+                    return LogicalOperation.flatDisjunction(expressions);
+            }
+        };
     }
 }
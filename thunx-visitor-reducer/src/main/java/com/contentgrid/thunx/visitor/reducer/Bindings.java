@@ -0,0 +1,99 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import com.contentgrid.thunx.predicates.model.Variable;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+
+/**
+ * Known values of {@link SymbolicReference symbolic references} and {@link Variable variables}, for the
+ * {@link ThunkPartialEvaluator}.
+ * <p>
+ * Bindings are immutable; start from {@link #EMPTY} and add the values that are known:
+ * <pre>
+ *     var bindings = Bindings.EMPTY
+ *             .with("entity.owner", Scalar.of("alice"))
+ *             .with("entity.level", Scalar.of(3));
+ * </pre>
+ * A binding only matches a reference with exactly the same path: binding {@code entity.owner} does not bind
+ * {@code entity.owner.name}, nor {@code entity}.
+ * <p>
+ * A reference can not be bound to {@link Scalar#nullValue() null}: the reducer compares null like any other value, so
+ * {@code null != 'alice'} would become {@code true}, while it is unknown in SQL. Leave a reference that is null unbound
+ * instead, so the comparisons on it remain in the residual.
+ */
+@EqualsAndHashCode
+public final class Bindings {
+
+    public static final Bindings EMPTY = new Bindings(Map.of());
+
+    private final Map<ThunkExpression<?>, Scalar<?>> values;
+
+    private Bindings(Map<ThunkExpression<?>, Scalar<?>> values) {
+        this.values = values;
+    }
+
+    public static Bindings of(@NonNull Map<SymbolicReference, ? extends Scalar<?>> values) {
+        values.forEach(Bindings::requireNonNullValue);
+        return new Bindings(Map.copyOf(values));
+    }
+
+    public Bindings with(@NonNull SymbolicReference reference, @NonNull Scalar<?> value) {
+        return this.add(reference, value);
+    }
+
+    /**
+     * Binds the reference with the given dotted path, see {@link SymbolicReference#parse(String)}
+     */
+    public Bindings with(@NonNull String reference, @NonNull Scalar<?> value) {
+        return this.add(SymbolicReference.parse(reference), value);
+    }
+
+    public Bindings with(@NonNull Variable variable, @NonNull Scalar<?> value) {
+        return this.add(variable, value);
+    }
+
+    private Bindings add(ThunkExpression<?> key, Scalar<?> value) {
+        requireNonNullValue(key, value);
+        var result = new HashMap<>(this.values);
+        result.put(key, value);
+        return new Bindings(result);
+    }
+
+    private static void requireNonNullValue(ThunkExpression<?> key, Scalar<?> value) {
+        if (value.getValue() == null) {
+            throw new IllegalArgumentException(String.format("Can not bind '%s' to null, leave it unbound instead", key));
+        }
+    }
+
+    /**
+     * @return the bound value, or {@code null} when the reference is not bound
+     */
+    Scalar<?> get(SymbolicReference reference) {
+        return this.values.get(reference);
+    }
+
+    /**
+     * @return the bound value, or {@code null} when the variable is not bound
+     */
+    Scalar<?> get(Variable variable) {
+        return this.values.get(variable);
+    }
+
+    public boolean isEmpty() {
+        return this.values.isEmpty();
+    }
+
+    public int size() {
+        return this.values.size();
+    }
+
+    @Override
+    public String toString() {
+        return this.values.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+
+/**
+ * Hoists the conjuncts that all terms of a disjunction have in common out of the disjunction:
+ * {@code (t AND a) OR (t AND b)} becomes {@code t AND (a OR b)}.
+ * <p>
+ * The disjunction of the remaining terms is reduced by the disjunction reducer, and the result is combined with the
+ * common conjuncts by the conjunction reducer. A disjunction without common conjuncts is only reduced by the
+ * disjunction reducer.
+ */
+@AllArgsConstructor
+class CommonFactorReducer implements FunctionReducer<Boolean> {
+
+    private final FunctionReducer<Boolean> disjunction;
+
+    private final FunctionReducer<Boolean> conjunction;
+
+    @Override
+    public Optional<ThunkExpression<Boolean>> tryReduce(List<ThunkExpression<?>> values) {
+        List<ThunkExpression<?>> terms = values;
+        if (terms.stream().anyMatch(term -> isOperation(term, Operator.OR))) {
+            terms = LogicalOperation.uncheckedFlatDisjunction(values).getTerms();
+        }
+        if (terms.size() < 2) {
+            return this.disjunction.tryReduce(terms);
+        }
+
+        var common = new LinkedHashSet<ThunkExpression<?>>(conjunctsOf(terms.get(0)));
+        for (int i = 1; i < terms.size() && !common.isEmpty(); i++) {
+            common.retainAll(new HashSet<>(conjunctsOf(terms.get(i))));
+        }
+        if (common.isEmpty()) {
+            return this.disjunction.tryReduce(terms);
+        }
+
+        var remainders = new ArrayList<ThunkExpression<?>>(terms.size());
+        for (var term : terms) {
+            var remainder = remainderOf(term, common);
+            if (remainder.isEmpty()) {
+                // this term is exactly the common conjunction, which implies all other terms
+                return this.conjunction.tryReduce(new ArrayList<>(common));
+            }
+            remainders.add(remainder.size() == 1 ? remainder.get(0) : LogicalOperation.uncheckedConjunction(remainder));
+        }
+
+        var factored = new ArrayList<ThunkExpression<?>>(common);
+        factored.add(this.disjunction.tryReduce(remainders)
+                .orElseGet(() -> LogicalOperation.uncheckedFlatDisjunction(remainders)));
+        return this.conjunction.tryReduce(factored)
+                .or(() -> Optional.of(LogicalOperation.uncheckedFlatConjunction(factored)));
+    }
+
+    private static List<ThunkExpression<?>> conjunctsOf(ThunkExpression<?> term) {
+        if (isOperation(term, Operator.AND)) {
+            return ((LogicalOperation) term).getTerms();
+        }
+        return List.of(term);
+    }
+
+    private static List<ThunkExpression<?>> remainderOf(ThunkExpression<?> term, Set<ThunkExpression<?>> common) {
+        var conjuncts = conjunctsOf(term);
+        var remainder = new ArrayList<ThunkExpression<?>>(conjuncts.size());
+        for (var conjunct : conjuncts) {
+            if (!common.contains(conjunct)) {
+                remainder.add(conjunct);
+            }
+        }
+        return remainder;
+    }
+
+    private static boolean isOperation(ThunkExpression<?> term, Operator operator) {
+        return term instanceof LogicalOperation && ((LogicalOperation) term).getOperator() == operator;
+    }
+}
@@ -4,7 +4,6 @@ import com.contentgrid.thunx.predicates.model.Scalar;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
@@ -12,7 +11,7 @@ class ComparisonFunctionReducer implements FunctionReducer<Boolean> {
 
     @FunctionalInterface
     public interface ComparisonFunction {
-        boolean eval(Object value1, Object value2);
+        boolean eval(Scalar<?> value1, Scalar<?> value2);
     }
 
     private final ComparisonFunction comparisonFunction;
@@ -22,15 +21,10 @@ class ComparisonFunctionReducer implements FunctionReducer<Boolean> {
         if(values.size() != 2) {
             throw new IllegalArgumentException("Comparison functions require exactly 2 parameters, received "+values.size()+" parameters.");
         }
-        var availableValues = values.stream()
-                .map(ThunkExpression::maybeScalar)
-                .collect(Collectors.toList());
-        if(availableValues.stream().allMatch(Optional::isPresent)) {
-            var unwrappedValues = availableValues.stream()
-                    .map(Optional::get)
-                    .map(Scalar::getValue)
-                    .collect(Collectors.toList());
-            return Optional.of(Scalar.of(comparisonFunction.eval(unwrappedValues.get(0), unwrappedValues.get(1))));
+        var left = values.get(0);
+        var right = values.get(1);
+        if (left instanceof Scalar && right instanceof Scalar) {
+            return Optional.of(Scalar.of(comparisonFunction.eval((Scalar<?>) left, (Scalar<?>) right)));
         }
         return Optional.empty();
     }
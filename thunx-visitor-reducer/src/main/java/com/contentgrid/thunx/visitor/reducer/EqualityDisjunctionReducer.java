@@ -0,0 +1,108 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SetMembership;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+
+/**
+ * Collapses equalities between the same reference and a scalar in a disjunction into a single set membership:
+ * {@code OR(EQ(x, 'a'), EQ(x, 'b'), IN(x, 'c', 'd'))} becomes {@code IN(x, 'a', 'b', 'c', 'd')}. The remaining
+ * disjunction is reduced by the delegate reducer.
+ * <p>
+ * Comparisons with {@link Scalar#nullValue() null} are not collapsed, because a set membership never matches null.
+ */
+@AllArgsConstructor
+class EqualityDisjunctionReducer implements FunctionReducer<Boolean> {
+
+    private final FunctionReducer<Boolean> delegate;
+
+    @Override
+    public Optional<ThunkExpression<Boolean>> tryReduce(List<ThunkExpression<?>> values) {
+        List<ThunkExpression<?>> terms = values;
+        if (terms.stream().anyMatch(term -> term instanceof LogicalOperation
+                && ((LogicalOperation) term).getOperator() == Operator.OR)) {
+            terms = LogicalOperation.uncheckedFlatDisjunction(values).getTerms();
+        }
+
+        var members = new LinkedHashMap<SymbolicReference, Set<ThunkExpression<?>>>();
+        var counts = new HashMap<SymbolicReference, Integer>();
+        for (var term : terms) {
+            var reference = referenceOf(term);
+            if (reference != null) {
+                members.computeIfAbsent(reference, ref -> new LinkedHashSet<>()).addAll(membersOf(term));
+                counts.merge(reference, 1, Integer::sum);
+            }
+        }
+
+        if (counts.values().stream().allMatch(count -> count < 2)) {
+            return this.delegate.tryReduce(terms);
+        }
+
+        var result = new ArrayList<ThunkExpression<?>>(terms.size());
+        for (var term : terms) {
+            var reference = referenceOf(term);
+            if (reference == null || counts.get(reference) < 2) {
+                result.add(term);
+                continue;
+            }
+
+            // the collapsed membership takes the place of the first term that references it
+            var set = members.remove(reference);
+            if (set != null) {
+                var list = new ArrayList<>(set);
+                result.add(list.size() == 1
+                        ? Comparison.areEqual(reference, list.get(0))
+                        : SetMembership.in(reference, list));
+            }
+        }
+
+        return this.delegate.tryReduce(result);
+    }
+
+    /**
+     * @return the reference that is compared with scalars, or {@code null} if the term can not be collapsed
+     */
+    private static SymbolicReference referenceOf(ThunkExpression<?> term) {
+        if (term instanceof Comparison && ((Comparison) term).getOperator() == Operator.EQUALS) {
+            var comparison = (Comparison) term;
+            if (comparison.getLeftTerm() instanceof SymbolicReference && isMember(comparison.getRightTerm())) {
+                return (SymbolicReference) comparison.getLeftTerm();
+            } else if (comparison.getRightTerm() instanceof SymbolicReference && isMember(comparison.getLeftTerm())) {
+                return (SymbolicReference) comparison.getRightTerm();
+            }
+        } else if (term instanceof SetMembership) {
+            var membership = (SetMembership) term;
+            if (membership.getTerm() instanceof SymbolicReference
+                    && membership.getValues().stream().allMatch(EqualityDisjunctionReducer::isMember)) {
+                return (SymbolicReference) membership.getTerm();
+            }
+        }
+        return null;
+    }
+
+    private static List<ThunkExpression<?>> membersOf(ThunkExpression<?> term) {
+        if (term instanceof SetMembership) {
+            return ((SetMembership) term).getValues();
+        }
+        var comparison = (Comparison) term;
+        return List.of(comparison.getLeftTerm() instanceof SymbolicReference
+                ? comparison.getRightTerm()
+                : comparison.getLeftTerm());
+    }
+
+    private static boolean isMember(ThunkExpression<?> term) {
+        return term instanceof Scalar && term != Scalar.nullValue();
+    }
+}
@@ -1,15 +1,25 @@
 package com.contentgrid.thunx.visitor.reducer;
 
+import com.contentgrid.thunx.predicates.model.FunctionExpression;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import com.contentgrid.thunx.predicates.model.FunctionExpression.FunctionExpressionFactory;
 import com.contentgrid.thunx.predicates.model.Scalar;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 
-
+/**
+ * Reduces a conjunction or a disjunction.
+ * <p>
+ * Identity terms and duplicate terms are removed, and a forcing term reduces the whole operation to that term. Terms
+ * that are absorbed by another term are removed as well: {@code a OR (a AND b)} becomes {@code a} and
+ * {@code a AND (a OR b)} becomes {@code a}.
+ */
 @AllArgsConstructor
 class LogicalFunctionReducer implements FunctionReducer<Boolean> {
     private final Boolean forcingTerm;
@@ -18,27 +28,85 @@ class LogicalFunctionReducer implements FunctionReducer<Boolean> {
 
     @Override
     public Optional<ThunkExpression<Boolean>> tryReduce(List<ThunkExpression<?>> values) {
-        var hasForcingTerm = values.stream()
-                .map(expression -> expression.assertResultType(Boolean.class))
-                .flatMap(e -> ThunkExpression.maybeScalar(e).stream())
-                .map(Scalar::getValue)
-                .anyMatch(Predicate.isEqual(forcingTerm));
-        if(hasForcingTerm) {
+        var operator = forcingTerm ? Operator.OR : Operator.AND;
+        if (values.stream().anyMatch(value -> isOperation(value, operator))) {
+            values = factory.create(values).getTerms();
+        }
+
+        var hasForcingTerm = false;
+        var withoutIdentityTerms = new LinkedHashSet<ThunkExpression<?>>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            var expression = values.get(i).assertResultType(Boolean.class);
+            if (expression instanceof Scalar) {
+                var value = ((Scalar<Boolean>) expression).getValue();
+                if (forcingTerm.equals(value)) {
+                    hasForcingTerm = true;
+                    continue;
+                }
+                if (identityTerm.equals(value)) {
+                    continue;
+                }
+            }
+            withoutIdentityTerms.add(expression);
+        }
+
+        if (hasForcingTerm) {
             return Optional.of(Scalar.of(forcingTerm));
         }
-        var withoutIdentityTerms = values.stream()
-                .filter(e -> ThunkExpression.maybeScalar(e)
-                        .map(Scalar::getValue)
-                        .filter(Predicate.isEqual(identityTerm)).isEmpty())
-                .collect(Collectors.toList());
-        switch (withoutIdentityTerms.size()) {
+        var terms = absorb(new ArrayList<>(withoutIdentityTerms), forcingTerm ? Operator.AND : Operator.OR);
+        switch (terms.size()) {
             case 0:
                 return Optional.of(Scalar.of(identityTerm));
             case 1:
-                return Optional.of((ThunkExpression<Boolean>)withoutIdentityTerms.get(0));
+                return Optional.of((ThunkExpression<Boolean>)terms.get(0));
             default:
-                return Optional.of(factory.create(withoutIdentityTerms));
+                return Optional.of(factory.create(terms));
         }
     }
-}
 
+    /**
+     * Removes the terms that are implied by another term, in the presence of that term. A term is absorbed when its
+     * operands for the dual operator are a superset of the operands of another term: in a disjunction, {@code a AND b}
+     * is absorbed by {@code a}, and {@code a AND b AND c} by {@code b AND a}. When two terms have the same operands,
+     * the first one is kept.
+     */
+    private static List<ThunkExpression<?>> absorb(List<ThunkExpression<?>> terms, Operator dual) {
+        if (terms.stream().noneMatch(term -> isOperation(term, dual))) {
+            // without a term for the dual operator, every term has a single operand and they are all distinct
+            return terms;
+        }
+
+        var operands = new ArrayList<Set<ThunkExpression<?>>>(terms.size());
+        for (var term : terms) {
+            operands.add(isOperation(term, dual)
+                    ? new HashSet<>(((FunctionExpression<?>) term).getTerms())
+                    : Set.of(term));
+        }
+
+        var result = new ArrayList<ThunkExpression<?>>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            if (!isAbsorbed(i, operands)) {
+                result.add(terms.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isAbsorbed(int index, List<Set<ThunkExpression<?>>> operands) {
+        var candidate = operands.get(index);
+        for (int j = 0; j < operands.size(); j++) {
+            var other = operands.get(j);
+            if (j == index || other.size() > candidate.size() || !candidate.containsAll(other)) {
+                continue;
+            }
+            if (other.size() < candidate.size() || j < index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOperation(ThunkExpression<?> term, Operator operator) {
+        return term instanceof FunctionExpression<?> && ((FunctionExpression<?>) term).getOperator() == operator;
+    }
+}
@@ -0,0 +1,116 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression;
+import com.contentgrid.thunx.predicates.model.IterativeThunkExpressionVisitor;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import com.contentgrid.thunx.predicates.model.ThunkExpressionRewriter;
+import com.contentgrid.thunx.predicates.model.Variable;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * Memoizes the results of a {@link ThunkReducerVisitor}, for whole expressions and for each of their subtrees.
+ * <p>
+ * Policy residuals tend to repeat, and residuals that do differ often share large subtrees. Results are cached by
+ * structure: an expression that is structurally equal to an expression that was reduced before is not reduced again,
+ * and neither is a subtree of a larger expression that is equal to one that was reduced before. Expressions are hashed
+ * by their {@link ThunkExpression#getFingerprint() fingerprint}, so looking up a subtree does not walk it.
+ * <p>
+ * The cache is bounded by the total number of expression nodes of the cached inputs, and is owned by the instance:
+ * create one per component that reduces expressions. Instances are thread-safe.
+ */
+public class MemoizingThunkReducer {
+
+    public static final long DEFAULT_MAX_WEIGHT = 100_000;
+
+    private final ThunkReducerVisitor reducer;
+
+    private final WeightedCache<ThunkExpression<?>, Reduced> cache;
+
+    private final Traversal traversal = new Traversal();
+
+    /**
+     * Memoizes {@link ThunkReducerVisitor#DEFAULT_INSTANCE}, with a cache of at most {@link #DEFAULT_MAX_WEIGHT} nodes
+     */
+    public MemoizingThunkReducer() {
+        this(ThunkReducerVisitor.DEFAULT_INSTANCE, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * @param maxWeight the maximum total number of expression nodes of the cached inputs
+     */
+    public MemoizingThunkReducer(@NonNull ThunkReducerVisitor reducer, long maxWeight) {
+        this.reducer = reducer;
+        this.cache = new WeightedCache<>(maxWeight);
+    }
+
+    /**
+     * @return the same result as the reducer, for the same expression
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ThunkExpression<T> reduce(@NonNull ThunkExpression<T> expression) {
+        return (ThunkExpression<T>) expression.accept(this.traversal, null).expression;
+    }
+
+    int cacheSize() {
+        return this.cache.size();
+    }
+
+    /**
+     * A reduced expression, with the number of nodes of the expression it was reduced from
+     */
+    private static final class Reduced {
+
+        private final ThunkExpression<?> expression;
+
+        private final long weight;
+
+        Reduced(ThunkExpression<?> expression, long weight) {
+            this.expression = expression;
+            this.weight = weight;
+        }
+    }
+
+    private class Traversal implements IterativeThunkExpressionVisitor<Reduced, Void> {
+
+        @Override
+        public Reduced enter(FunctionExpression<?> functionExpression, Void context) {
+            // a cached subtree is not traversed
+            return cache.get(functionExpression);
+        }
+
+        @Override
+        public Reduced leave(FunctionExpression<?> functionExpression, List<Reduced> terms, Void context) {
+            long weight = 1;
+            var reducedTerms = new ArrayList<ThunkExpression<?>>(terms.size());
+            for (var term : terms) {
+                weight += term.weight;
+                reducedTerms.add(term.expression);
+            }
+
+            var function = functionExpression.withTerms(reducedTerms);
+            var result = new Reduced(ThunkExpressionRewriter.shareUnchanged(function, reducer.rewrite(function, null)),
+                    weight);
+            cache.put(functionExpression, result, weight);
+            return result;
+        }
+
+        @Override
+        public Reduced visit(Scalar<?> scalar, Void context) {
+            return new Reduced(scalar, 1);
+        }
+
+        @Override
+        public Reduced visit(SymbolicReference symbolicReference, Void context) {
+            return new Reduced(symbolicReference, 1);
+        }
+
+        @Override
+        public Reduced visit(Variable variable, Void context) {
+            return new Reduced(variable, 1);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.IterativeThunkExpressionVisitor;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.ReferencedPaths;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import com.contentgrid.thunx.predicates.model.Variable;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reduces a negation by pushing it down to the leaves of the negated expression.
+ * <p>
+ * The negation of a boolean scalar is evaluated, a double negation is removed, a negated conjunction or disjunction is
+ * rewritten with De Morgan's laws and a negated comparison is replaced by the complementary comparison, for example
+ * {@code NOT(x == c)} becomes {@code x != c} and {@code NOT(x < c)} becomes {@code x >= c}. Other operations, like
+ * {@code NOT(x IN (...))}, remain negated, and so does any term that references a path variable.
+ */
+class NegationFunctionReducer implements FunctionReducer<Boolean> {
+
+    private static final Negator NEGATOR = new Negator();
+
+    @Override
+    public Optional<ThunkExpression<Boolean>> tryReduce(List<ThunkExpression<?>> values) {
+        if (values.size() != 1) {
+            throw new IllegalArgumentException("Negation requires exactly 1 parameter, received "+values.size()+" parameters.");
+        }
+        var term = values.get(0);
+        if (term instanceof SymbolicReference || term instanceof Variable) {
+            return Optional.empty();
+        }
+        if (hasPathVariables(term)) {
+            if (term instanceof FunctionExpression<?> && ((FunctionExpression<?>) term).getOperator() == Operator.NOT) {
+                return Optional.of((ThunkExpression<Boolean>) ((FunctionExpression<?>) term).term(0));
+            }
+            return Optional.empty();
+        }
+        return Optional.of((ThunkExpression<Boolean>) term.accept(NEGATOR, null));
+    }
+
+    /**
+     * A path variable is an existential quantifier, which does not commute with a negation:
+     * {@code NOT(entity.tags.$x == 'secret')} means that no tag is secret, while {@code entity.tags.$x != 'secret'}
+     * means that some tag is not secret. Negations of terms with path variables are left in place.
+     */
+    private static boolean hasPathVariables(ThunkExpression<?> term) {
+        for (var reference : ReferencedPaths.of(term).getReferences()) {
+            if (!reference.getPathVariables().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the comparison operator that holds exactly when the given operator does not, or {@code null}
+     */
+    private static Operator complement(Operator operator) {
+        switch (operator) {
+            case EQUALS:
+                return Operator.NOT_EQUAL_TO;
+            case NOT_EQUAL_TO:
+                return Operator.EQUALS;
+            case GREATER_THAN:
+                return Operator.LESS_THEN_OR_EQUAL_TO;
+            case GREATER_THAN_OR_EQUAL_TO:
+                return Operator.LESS_THAN;
+            case LESS_THAN:
+                return Operator.GREATER_THAN_OR_EQUAL_TO;
+            case LESS_THEN_OR_EQUAL_TO:
+                return Operator.GREATER_THAN;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Negates an expression of which the negations are already pushed down. Only conjunctions and disjunctions are
+     * traversed, because the terms of any other function are not negated.
+     */
+    private static class Negator implements IterativeThunkExpressionVisitor<ThunkExpression<?>, Void> {
+
+        @Override
+        public ThunkExpression<?> enter(FunctionExpression<?> function, Void context) {
+            var operator = function.getOperator();
+            switch (operator) {
+                case AND:
+                case OR:
+                    return null;
+                case NOT:
+                    return function.term(0);
+                default:
+                    var complement = complement(operator);
+                    if (complement != null) {
+                        return complement.create(function.getTerms());
+                    }
+                    return LogicalOperation.uncheckedNegation(List.of(function));
+            }
+        }
+
+        @Override
+        public ThunkExpression<?> leave(FunctionExpression<?> function, List<ThunkExpression<?>> terms, Void context) {
+            if (function.getOperator() == Operator.AND) {
+                return LogicalOperation.uncheckedFlatDisjunction(terms);
+            }
+            return LogicalOperation.uncheckedFlatConjunction(terms);
+        }
+
+        @Override
+        public ThunkExpression<?> visit(Scalar<?> scalar, Void context) {
+            if (scalar.getValue() instanceof Boolean) {
+                return Scalar.of(!((Boolean) scalar.getValue()));
+            }
+            return LogicalOperation.uncheckedNegation(List.of(scalar));
+        }
+
+        @Override
+        public ThunkExpression<?> visit(SymbolicReference symbolicReference, Void context) {
+            return LogicalOperation.uncheckedNegation(List.of(symbolicReference));
+        }
+
+        @Override
+        public ThunkExpression<?> visit(Variable variable, Void context) {
+            return LogicalOperation.uncheckedNegation(List.of(variable));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+
+/**
+ * Reduces a numeric function of two scalars, for example with {@link com.contentgrid.thunx.predicates.model.ScalarArithmetic}.
+ * When the function is undefined for the scalars, like a division by zero, it is left as it is.
+ */
+@AllArgsConstructor
+class NumericFunctionReducer implements FunctionReducer<Number> {
+
+    @FunctionalInterface
+    public interface NumericFunction {
+        Optional<Scalar<Number>> apply(Scalar<?> left, Scalar<?> right);
+    }
+
+    private final NumericFunction numericFunction;
+
+    @Override
+    public Optional<ThunkExpression<Number>> tryReduce(List<ThunkExpression<?>> values) {
+        if (values.size() != 2) {
+            throw new IllegalArgumentException("Numeric functions require exactly 2 parameters, received "+values.size()+" parameters.");
+        }
+        var left = values.get(0);
+        var right = values.get(1);
+        if (left instanceof Scalar && right instanceof Scalar) {
+            return this.numericFunction.apply((Scalar<?>) left, (Scalar<?>) right).map(result -> result);
+        }
+        return Optional.empty();
+    }
+}
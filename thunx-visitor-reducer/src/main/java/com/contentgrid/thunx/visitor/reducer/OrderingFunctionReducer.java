@@ -0,0 +1,37 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.ScalarComparison;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import lombok.AllArgsConstructor;
+
+/**
+ * Reduces an ordering comparison ({@code <}, {@code <=}, {@code >}, {@code >=}) between two scalars that can be
+ * ordered. Scalars of different types are not ordered, that comparison is left as it is.
+ */
+@AllArgsConstructor
+class OrderingFunctionReducer implements FunctionReducer<Boolean> {
+
+    /**
+     * Tests the result of {@link ScalarComparison#compare(Scalar, Scalar)}
+     */
+    private final IntPredicate ordering;
+
+    @Override
+    public Optional<ThunkExpression<Boolean>> tryReduce(List<ThunkExpression<?>> values) {
+        if (values.size() != 2) {
+            throw new IllegalArgumentException("Comparison functions require exactly 2 parameters, received "+values.size()+" parameters.");
+        }
+        var left = values.get(0);
+        var right = values.get(1);
+        if (left instanceof Scalar && right instanceof Scalar
+                && ScalarComparison.isComparable((Scalar<?>) left, (Scalar<?>) right)) {
+            var order = ScalarComparison.compare((Scalar<?>) left, (Scalar<?>) right);
+            return Optional.of(Scalar.of(this.ordering.test(order)));
+        }
+        return Optional.empty();
+    }
+}
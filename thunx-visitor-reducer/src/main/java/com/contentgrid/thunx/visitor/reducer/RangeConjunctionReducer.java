@@ -0,0 +1,215 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.ScalarComparison;
+import com.contentgrid.thunx.predicates.model.SetMembership;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+
+/**
+ * Intersects the constraints on the same reference in a conjunction, replacing them with the tightest equivalent
+ * constraints: {@code x > 1 AND x >= 3 AND x < 5} becomes {@code x >= 3 AND x < 5}, and
+ * {@code x IN (1, 2, 3) AND x != 1 AND x < 3} becomes {@code x == 2}. Unsatisfiable constraints, like
+ * {@code x > 5 AND x < 3} or {@code x == 1 AND x == 2}, are replaced by {@code false}. The remaining conjunction is
+ * reduced by the delegate reducer.
+ * <p>
+ * The constraints on a reference are left as they are when their values can not be ordered against each other, or
+ * when any of their values is not {@link ValueRange#isOrdered(Scalar) ordered} the same way by the database. That
+ * includes the equalities and exclusions of strings: the database may compare them case-insensitively, so
+ * {@code x != 'A' AND x == 'a'} is not the same as {@code x == 'a'}.
+ */
+@AllArgsConstructor
+class RangeConjunctionReducer implements FunctionReducer<Boolean> {
+
+    private final FunctionReducer<Boolean> delegate;
+
+    @Override
+    public Optional<ThunkExpression<Boolean>> tryReduce(List<ThunkExpression<?>> values) {
+        List<ThunkExpression<?>> terms = values;
+        if (terms.stream().anyMatch(term -> term instanceof LogicalOperation
+                && ((LogicalOperation) term).getOperator() == Operator.AND)) {
+            terms = LogicalOperation.uncheckedFlatConjunction(values).getTerms();
+        }
+
+        var groups = new LinkedHashMap<SymbolicReference, Constraints>();
+        for (int i = 0; i < terms.size(); i++) {
+            var constraint = ReferenceConstraint.of(terms.get(i));
+            if (constraint != null && Constraints.supports(constraint.getOperator())) {
+                groups.computeIfAbsent(constraint.getReference(), Constraints::new).add(i, constraint);
+            }
+        }
+
+        var replacements = new HashMap<Integer, List<ThunkExpression<?>>>();
+        for (var group : groups.values()) {
+            if (group.indices.size() < 2) {
+                continue;
+            }
+            var replacement = group.reduce();
+            if (replacement != null) {
+                // the intersection takes the place of the first term on the reference
+                replacements.put(group.indices.get(0), replacement);
+                for (int i = 1; i < group.indices.size(); i++) {
+                    replacements.put(group.indices.get(i), List.of());
+                }
+            }
+        }
+
+        if (replacements.isEmpty()) {
+            return this.delegate.tryReduce(terms);
+        }
+
+        var result = new ArrayList<ThunkExpression<?>>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            var replacement = replacements.get(i);
+            if (replacement == null) {
+                result.add(terms.get(i));
+            } else {
+                result.addAll(replacement);
+            }
+        }
+        return this.delegate.tryReduce(result);
+    }
+
+    /**
+     * The constraints on a single reference in a conjunction
+     */
+    private static class Constraints {
+
+        private final SymbolicReference reference;
+
+        private final List<Integer> indices = new ArrayList<>();
+
+        private ValueRange range = ValueRange.UNBOUNDED;
+
+        /**
+         * The values that are allowed by equalities and set memberships, or {@code null} when there are none
+         */
+        private List<Scalar<?>> candidates;
+
+        private final List<Scalar<?>> excluded = new ArrayList<>();
+
+        private boolean comparable = true;
+
+        Constraints(SymbolicReference reference) {
+            this.reference = reference;
+        }
+
+        static boolean supports(Operator operator) {
+            switch (operator) {
+                case EQUALS:
+                case NOT_EQUAL_TO:
+                case IN:
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL_TO:
+                case LESS_THAN:
+                case LESS_THEN_OR_EQUAL_TO:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        void add(int index, ReferenceConstraint constraint) {
+            this.indices.add(index);
+            switch (constraint.getOperator()) {
+                case EQUALS:
+                case IN:
+                    if (constraint.getValues().stream().allMatch(ValueRange::isOrdered)) {
+                        this.restrict(constraint.getValues());
+                    } else {
+                        this.comparable = false;
+                    }
+                    break;
+                case NOT_EQUAL_TO:
+                    if (!ValueRange.isOrdered(constraint.getValue())) {
+                        this.comparable = false;
+                    } else if (!containsValue(this.excluded, constraint.getValue())) {
+                        this.excluded.add(constraint.getValue());
+                    }
+                    break;
+                default:
+                    var value = constraint.getValue();
+                    if (ValueRange.isOrdered(value) && this.range.isComparable(value)) {
+                        this.range = this.range.intersect(ValueRange.of(constraint.getOperator(), value));
+                    } else {
+                        this.comparable = false;
+                    }
+            }
+        }
+
+        private void restrict(List<Scalar<?>> values) {
+            if (this.candidates == null) {
+                this.candidates = new ArrayList<>(values.size());
+                for (var value : values) {
+                    if (!containsValue(this.candidates, value)) {
+                        this.candidates.add(value);
+                    }
+                }
+            } else {
+                this.candidates.removeIf(candidate -> !containsValue(values, candidate));
+            }
+        }
+
+        /**
+         * @return the terms that replace all constraints, or {@code null} when the constraints can not be combined
+         */
+        List<ThunkExpression<?>> reduce() {
+            if (!this.comparable) {
+                return null;
+            }
+            if (this.candidates == null && this.range.isPoint()) {
+                this.candidates = List.of(this.range.getLower());
+            }
+
+            if (this.candidates != null) {
+                var allowed = new ArrayList<ThunkExpression<?>>(this.candidates.size());
+                for (var candidate : this.candidates) {
+                    if (!this.range.isComparable(candidate)) {
+                        return null;
+                    }
+                    if (this.range.contains(candidate) && !containsValue(this.excluded, candidate)) {
+                        allowed.add(candidate);
+                    }
+                }
+                switch (allowed.size()) {
+                    case 0:
+                        return List.of(Scalar.of(false));
+                    case 1:
+                        return List.of(Comparison.areEqual(this.reference, allowed.get(0)));
+                    default:
+                        return List.of(SetMembership.in(this.reference, allowed));
+                }
+            }
+
+            if (this.range.isEmpty()) {
+                return List.of(Scalar.of(false));
+            }
+            var result = new ArrayList<>(this.range.toTerms(this.reference));
+            for (var value : this.excluded) {
+                // an exclusion outside the range is implied by the range
+                if (!this.range.isComparable(value) || this.range.contains(value)) {
+                    result.add(Comparison.notEqual(this.reference, value));
+                }
+            }
+            return result;
+        }
+
+        private static boolean containsValue(List<Scalar<?>> values, Scalar<?> value) {
+            for (var candidate : values) {
+                if (ScalarComparison.areEqual(candidate, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
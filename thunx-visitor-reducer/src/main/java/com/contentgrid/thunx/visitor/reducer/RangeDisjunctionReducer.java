@@ -0,0 +1,179 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+
+/**
+ * Merges overlapping and adjacent ranges on the same reference in a disjunction: {@code x < 3 OR x == 3} becomes
+ * {@code x <= 3}, and {@code (x >= 1 AND x < 5) OR (x >= 5 AND x < 10)} becomes {@code x >= 1 AND x < 10}. The
+ * remaining disjunction is reduced by the delegate reducer.
+ * <p>
+ * Ranges that together cover all values, like {@code x < 5 OR x >= 3}, are left as they are: that disjunction is not
+ * a tautology, because it does not hold when {@code x} is null or undefined. Ranges of values that are not
+ * {@link ValueRange#isOrdered(Scalar) ordered} the same way by the database, like strings, are not merged either.
+ */
+@AllArgsConstructor
+class RangeDisjunctionReducer implements FunctionReducer<Boolean> {
+
+    private final FunctionReducer<Boolean> delegate;
+
+    @Override
+    public Optional<ThunkExpression<Boolean>> tryReduce(List<ThunkExpression<?>> values) {
+        List<ThunkExpression<?>> terms = values;
+        if (terms.stream().anyMatch(term -> term instanceof LogicalOperation
+                && ((LogicalOperation) term).getOperator() == Operator.OR)) {
+            terms = LogicalOperation.uncheckedFlatDisjunction(values).getTerms();
+        }
+
+        var groups = new LinkedHashMap<SymbolicReference, Ranges>();
+        for (int i = 0; i < terms.size(); i++) {
+            var term = terms.get(i);
+            var reference = referenceOf(term);
+            var range = reference == null ? null : rangeOf(reference, term);
+            if (range != null) {
+                groups.computeIfAbsent(reference, ref -> new Ranges()).add(i, range);
+            }
+        }
+
+        var replacements = new HashMap<Integer, List<ThunkExpression<?>>>();
+        for (var entry : groups.entrySet()) {
+            var group = entry.getValue();
+            var merged = group.merge();
+            if (merged == null) {
+                continue;
+            }
+
+            var replacement = new ArrayList<ThunkExpression<?>>(merged.size());
+            for (var range : merged) {
+                var rangeTerms = range.toTerms(entry.getKey());
+                replacement.add(rangeTerms.size() == 1
+                        ? rangeTerms.get(0)
+                        : LogicalOperation.uncheckedConjunction(rangeTerms));
+            }
+            // the merged ranges take the place of the first range on the reference
+            replacements.put(group.indices.get(0), replacement);
+            for (int i = 1; i < group.indices.size(); i++) {
+                replacements.put(group.indices.get(i), List.of());
+            }
+        }
+
+        if (replacements.isEmpty()) {
+            return this.delegate.tryReduce(terms);
+        }
+
+        var result = new ArrayList<ThunkExpression<?>>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            var replacement = replacements.get(i);
+            if (replacement == null) {
+                result.add(terms.get(i));
+            } else {
+                result.addAll(replacement);
+            }
+        }
+        return this.delegate.tryReduce(result);
+    }
+
+    /**
+     * @return the reference that is constrained by the term, or {@code null} if the term is not a constraint
+     */
+    private static SymbolicReference referenceOf(ThunkExpression<?> term) {
+        if (term instanceof LogicalOperation && ((LogicalOperation) term).getOperator() == Operator.AND) {
+            var conjunction = (LogicalOperation) term;
+            var constraint = conjunction.termCount() == 0 ? null : ReferenceConstraint.of(conjunction.term(0));
+            return constraint == null ? null : constraint.getReference();
+        }
+        var constraint = ReferenceConstraint.of(term);
+        return constraint == null ? null : constraint.getReference();
+    }
+
+    /**
+     * @return the range of the reference that satisfies the term, when the term is an ordering comparison, an
+     * equality with a value that can be ordered, or a conjunction of those; {@code null} otherwise
+     */
+    private static ValueRange rangeOf(SymbolicReference reference, ThunkExpression<?> term) {
+        if (!(term instanceof LogicalOperation)) {
+            return rangeOf(reference, ReferenceConstraint.of(term), ValueRange.UNBOUNDED);
+        }
+
+        var range = ValueRange.UNBOUNDED;
+        var conjunction = (LogicalOperation) term;
+        for (int i = 0; i < conjunction.termCount() && range != null; i++) {
+            range = rangeOf(reference, ReferenceConstraint.of(conjunction.term(i)), range);
+        }
+        return range;
+    }
+
+    private static ValueRange rangeOf(SymbolicReference reference, ReferenceConstraint constraint, ValueRange range) {
+        if (constraint == null || !constraint.getReference().equals(reference)
+                || constraint.getOperator() == Operator.IN) {
+            return null;
+        }
+        var value = constraint.getValue();
+        var bound = ValueRange.of(constraint.getOperator(), value);
+        if (bound == null || !ValueRange.isOrdered(value) || !range.isComparable(value)) {
+            return null;
+        }
+        return range.intersect(bound);
+    }
+
+    /**
+     * The ranges on a single reference in a disjunction
+     */
+    private static class Ranges {
+
+        private final List<Integer> indices = new ArrayList<>();
+
+        private final List<ValueRange> ranges = new ArrayList<>();
+
+        private boolean comparable = true;
+
+        void add(int index, ValueRange range) {
+            if (!this.ranges.isEmpty() && !this.ranges.get(0).isComparable(range)) {
+                this.comparable = false;
+            }
+            this.indices.add(index);
+            this.ranges.add(range);
+        }
+
+        /**
+         * @return the union of the ranges, or {@code null} when it can not be expressed with fewer ranges
+         */
+        List<ValueRange> merge() {
+            if (this.ranges.size() < 2 || !this.comparable) {
+                return null;
+            }
+
+            var sorted = new ArrayList<ValueRange>(this.ranges.size());
+            for (var range : this.ranges) {
+                if (!range.isEmpty()) {
+                    sorted.add(range);
+                }
+            }
+            sorted.sort(ValueRange.BY_LOWER_BOUND);
+
+            var result = new ArrayList<ValueRange>(sorted.size());
+            for (var range : sorted) {
+                var last = result.isEmpty() ? null : result.get(result.size() - 1);
+                if (last != null && last.isConnected(range)) {
+                    result.set(result.size() - 1, last.span(range));
+                } else {
+                    result.add(range);
+                }
+            }
+
+            if (result.size() == this.ranges.size() || result.stream().anyMatch(ValueRange::isUnbounded)) {
+                return null;
+            }
+            return result;
+        }
+    }
+}
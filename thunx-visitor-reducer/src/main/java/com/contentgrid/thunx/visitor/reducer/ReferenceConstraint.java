@@ -0,0 +1,93 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SetMembership;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A comparison or a set membership between a {@link SymbolicReference} and non-null scalars, normalized with the
+ * reference on the left: {@code 5 < x} is the constraint {@code x > 5}.
+ * <p>
+ * References with path variables are not considered, because the constraints on a path variable apply to a single
+ * element of a collection, not to the collection as a whole.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class ReferenceConstraint {
+
+    private final SymbolicReference reference;
+
+    private final Operator operator;
+
+    private final List<Scalar<?>> values;
+
+    Scalar<?> getValue() {
+        return this.values.get(0);
+    }
+
+    /**
+     * @return the constraint that is expressed by the given term, or {@code null} when it is not a constraint
+     */
+    static ReferenceConstraint of(ThunkExpression<?> term) {
+        if (term instanceof Comparison) {
+            var comparison = (Comparison) term;
+            var left = comparison.getLeftTerm();
+            var right = comparison.getRightTerm();
+            if (isReference(left) && isValue(right)) {
+                return new ReferenceConstraint((SymbolicReference) left, comparison.getOperator(),
+                        List.of((Scalar<?>) right));
+            }
+
+            var mirrored = mirror(comparison.getOperator());
+            if (mirrored != null && isValue(left) && isReference(right)) {
+                return new ReferenceConstraint((SymbolicReference) right, mirrored, List.of((Scalar<?>) left));
+            }
+        } else if (term instanceof SetMembership) {
+            var membership = (SetMembership) term;
+            if (isReference(membership.getTerm())
+                    && membership.getValues().stream().allMatch(ReferenceConstraint::isValue)) {
+                var values = new ArrayList<Scalar<?>>(membership.getValues().size());
+                membership.getValues().forEach(value -> values.add((Scalar<?>) value));
+                return new ReferenceConstraint((SymbolicReference) membership.getTerm(), Operator.IN, values);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the operator with the terms swapped, or {@code null} when the operator is not symmetric in that way
+     */
+    private static Operator mirror(Operator operator) {
+        switch (operator) {
+            case EQUALS:
+            case NOT_EQUAL_TO:
+                return operator;
+            case GREATER_THAN:
+                return Operator.LESS_THAN;
+            case GREATER_THAN_OR_EQUAL_TO:
+                return Operator.LESS_THEN_OR_EQUAL_TO;
+            case LESS_THAN:
+                return Operator.GREATER_THAN;
+            case LESS_THEN_OR_EQUAL_TO:
+                return Operator.GREATER_THAN_OR_EQUAL_TO;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isReference(ThunkExpression<?> term) {
+        return term instanceof SymbolicReference && ((SymbolicReference) term).getPathVariables().isEmpty();
+    }
+
+    private static boolean isValue(ThunkExpression<?> term) {
+        return term instanceof Scalar && ((Scalar<?>) term).getValue() != null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.ScalarComparison;
+import com.contentgrid.thunx.predicates.model.SetMembership;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reduces {@code IN(term, values...)}: duplicate values are removed, a scalar term is looked up in the scalar values
+ * and a set with a single value becomes an equality.
+ * <p>
+ * A set membership with a {@link Scalar#nullValue() null} term or value is left as it is, because a set membership
+ * never matches null.
+ */
+class SetMembershipReducer implements FunctionReducer<Boolean> {
+
+    @Override
+    public Optional<ThunkExpression<Boolean>> tryReduce(List<ThunkExpression<?>> values) {
+        if (values.size() < 2) {
+            throw new IllegalArgumentException(
+                    "Set membership requires 2 or more parameters, received " + values.size() + " parameters.");
+        }
+
+        var term = values.get(0);
+        if (values.contains(Scalar.nullValue())) {
+            return Optional.empty();
+        }
+
+        var members = new ArrayList<ThunkExpression<?>>(new LinkedHashSet<>(values.subList(1, values.size())));
+
+        if (term instanceof Scalar) {
+            var remaining = new ArrayList<ThunkExpression<?>>(members.size());
+            for (var member : members) {
+                if (!(member instanceof Scalar)) {
+                    remaining.add(member);
+                } else if (ScalarComparison.areEqual((Scalar<?>) term, (Scalar<?>) member)) {
+                    return Optional.of(Scalar.of(true));
+                }
+            }
+            members = remaining;
+        }
+
+        switch (members.size()) {
+            case 0:
+                return Optional.of(Scalar.of(false));
+            case 1:
+                return Optional.of(Comparison.areEqual(term, members.get(0)));
+            default:
+                if (members.size() == values.size() - 1) {
+                    return Optional.empty();
+                }
+                return Optional.of(SetMembership.in(term, members));
+        }
+    }
+}
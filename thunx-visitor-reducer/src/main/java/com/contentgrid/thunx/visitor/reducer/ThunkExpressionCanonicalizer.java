@@ -0,0 +1,138 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import com.contentgrid.thunx.predicates.model.ThunkExpressionRewriter;
+import com.contentgrid.thunx.predicates.model.Variable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * Rewrites expressions into a canonical form, so that equivalent expressions that only differ in the order of their
+ * terms become structurally equal:
+ * <ul>
+ *     <li>nested conjunctions and disjunctions are flattened, their terms are sorted by
+ *     {@link ThunkExpression#getFingerprint() fingerprint} and duplicate terms are removed;</li>
+ *     <li>comparisons are oriented with the symbolic reference on the left, flipping the operator where needed:
+ *     {@code 5 < entity.level} becomes {@code entity.level > 5};</li>
+ *     <li>the values of a set membership are sorted and duplicate values are removed.</li>
+ * </ul>
+ * The canonical form of an expression is logically equivalent to the expression. Expressions that are already in
+ * canonical form are returned as-is.
+ */
+public class ThunkExpressionCanonicalizer implements ThunkExpressionRewriter<Void> {
+
+    public static final ThunkExpressionCanonicalizer DEFAULT_INSTANCE = new ThunkExpressionCanonicalizer();
+
+    private static final Comparator<ThunkExpression<?>> TERM_ORDER =
+            Comparator.comparing(ThunkExpression::getFingerprint);
+
+    @SuppressWarnings("unchecked")
+    public static <T> ThunkExpression<T> canonicalize(@NonNull ThunkExpression<T> expression) {
+        return (ThunkExpression<T>) expression.accept(DEFAULT_INSTANCE, null);
+    }
+
+    @Override
+    public ThunkExpression<?> rewrite(FunctionExpression<?> functionExpression, Void context) {
+        switch (functionExpression.getOperator()) {
+            case AND:
+                return sortTerms(LogicalOperation.uncheckedFlatConjunction(functionExpression.getTerms()));
+            case OR:
+                return sortTerms(LogicalOperation.uncheckedFlatDisjunction(functionExpression.getTerms()));
+            case EQUALS:
+            case NOT_EQUAL_TO:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL_TO:
+            case LESS_THAN:
+            case LESS_THEN_OR_EQUAL_TO:
+                return orient(functionExpression);
+            case IN:
+                return sortValues(functionExpression);
+            default:
+                return functionExpression;
+        }
+    }
+
+    private static ThunkExpression<?> sortTerms(LogicalOperation operation) {
+        var terms = new ArrayList<ThunkExpression<?>>(operation.getTerms());
+        terms.sort(TERM_ORDER);
+
+        // equal terms have equal fingerprints, so duplicates are next to each other after sorting
+        var distinct = new ArrayList<ThunkExpression<?>>(terms.size());
+        for (var term : terms) {
+            if (distinct.isEmpty() || !distinct.get(distinct.size() - 1).equals(term)) {
+                distinct.add(term);
+            }
+        }
+
+        if (distinct.size() == 1) {
+            return distinct.get(0);
+        }
+        return operation.withTerms(distinct);
+    }
+
+    private static ThunkExpression<?> sortValues(FunctionExpression<?> membership) {
+        var values = new ArrayList<ThunkExpression<?>>(membership.getTerms().subList(1, membership.termCount()));
+        values.sort(TERM_ORDER);
+
+        var terms = new ArrayList<ThunkExpression<?>>(values.size() + 1);
+        terms.add(membership.term(0));
+        for (var value : values) {
+            if (terms.size() == 1 || !terms.get(terms.size() - 1).equals(value)) {
+                terms.add(value);
+            }
+        }
+        return membership.withTerms(terms);
+    }
+
+    private static ThunkExpression<?> orient(FunctionExpression<?> comparison) {
+        var left = comparison.term(0);
+        var right = comparison.term(1);
+
+        int order = Integer.compare(rank(left), rank(right));
+        if (order == 0) {
+            order = TERM_ORDER.compare(left, right);
+        }
+        if (order <= 0) {
+            return comparison;
+        }
+
+        return flip(comparison.getOperator()).create(List.of(right, left));
+    }
+
+    /**
+     * References go first, scalars last
+     */
+    private static int rank(ThunkExpression<?> term) {
+        if (term instanceof SymbolicReference) {
+            return 0;
+        } else if (term instanceof Variable) {
+            return 1;
+        } else if (term instanceof Scalar) {
+            return 3;
+        }
+        return 2;
+    }
+
+    private static Operator flip(Operator operator) {
+        switch (operator) {
+            case GREATER_THAN:
+                return Operator.LESS_THAN;
+            case GREATER_THAN_OR_EQUAL_TO:
+                return Operator.LESS_THEN_OR_EQUAL_TO;
+            case LESS_THAN:
+                return Operator.GREATER_THAN;
+            case LESS_THEN_OR_EQUAL_TO:
+                return Operator.GREATER_THAN_OR_EQUAL_TO;
+            default:
+                // equality and inequality are symmetric
+                return operator;
+        }
+    }
+}
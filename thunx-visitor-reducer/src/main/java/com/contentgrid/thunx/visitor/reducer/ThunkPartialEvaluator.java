@@ -0,0 +1,65 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.FunctionExpression;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import com.contentgrid.thunx.predicates.model.ThunkExpressionRewriter;
+import com.contentgrid.thunx.predicates.model.Variable;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * Evaluates an expression as far as possible with the values that are known up front: bound
+ * {@link SymbolicReference symbolic references} and {@link Variable variables} are replaced with their values, and the
+ * result is reduced by a {@link ThunkReducerVisitor}.
+ * <p>
+ * When all references in a predicate are bound, for example to the attributes of an entity that is already loaded,
+ * the predicate evaluates to a boolean scalar. Otherwise, the remaining predicate only contains the unbound references:
+ * <pre>
+ *     // predicate: entity.owner == 'alice' OR entity.level > 3
+ *     var bindings = Bindings.EMPTY.with("entity.owner", Scalar.of("bob"));
+ *     var residual = ThunkPartialEvaluator.DEFAULT_INSTANCE.evaluate(predicate, bindings);
+ *     // residual: entity.level > 3
+ * </pre>
+ * Instances are thread-safe, the bindings are passed as the context of the rewriter.
+ */
+public class ThunkPartialEvaluator implements ThunkExpressionRewriter<Bindings> {
+
+    public static final ThunkPartialEvaluator DEFAULT_INSTANCE =
+            new ThunkPartialEvaluator(ThunkReducerVisitor.DEFAULT_INSTANCE);
+
+    private final ThunkReducerVisitor reducer;
+
+    public ThunkPartialEvaluator(@NonNull ThunkReducerVisitor reducer) {
+        this.reducer = reducer;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ThunkExpression<T> evaluate(@NonNull ThunkExpression<T> expression, @NonNull Bindings bindings) {
+        return (ThunkExpression<T>) expression.accept(this, bindings);
+    }
+
+    /**
+     * @return the value of the predicate, or an empty optional when it depends on references that are not bound
+     */
+    public Optional<Boolean> test(@NonNull ThunkExpression<Boolean> predicate, @NonNull Bindings bindings) {
+        return ThunkExpression.maybeValue(this.evaluate(predicate, bindings));
+    }
+
+    @Override
+    public ThunkExpression<?> visit(SymbolicReference symbolicReference, Bindings bindings) {
+        var value = bindings.get(symbolicReference);
+        return value == null ? symbolicReference : value;
+    }
+
+    @Override
+    public ThunkExpression<?> visit(Variable variable, Bindings bindings) {
+        var value = bindings.get(variable);
+        return value == null ? variable : value;
+    }
+
+    @Override
+    public ThunkExpression<?> rewrite(FunctionExpression<?> functionExpression, Bindings bindings) {
+        return this.reducer.rewrite(functionExpression, null);
+    }
+}
@@ -4,25 +4,47 @@ import com.contentgrid.thunx.predicates.model.FunctionExpression;
 import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
 import com.contentgrid.thunx.predicates.model.LogicalOperation;
 import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.ScalarArithmetic;
+import com.contentgrid.thunx.predicates.model.ScalarComparison;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import com.contentgrid.thunx.predicates.model.ContextFreeThunkExpressionVisitor;
+import com.contentgrid.thunx.predicates.model.ThunkExpressionRewriter;
+import com.contentgrid.thunx.predicates.model.ThunkExpressionTraversal;
 import com.contentgrid.thunx.predicates.model.Variable;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Singular;
 
 @AllArgsConstructor
 @Builder
-public class ThunkReducerVisitor extends ContextFreeThunkExpressionVisitor<ThunkExpression<?>> {
+public class ThunkReducerVisitor extends ContextFreeThunkExpressionVisitor<ThunkExpression<?>>
+        implements ThunkExpressionRewriter<Void> {
 
-    public static ThunkReducerVisitor DEFAULT_INSTANCE = ThunkReducerVisitor.builder()
-            .operatorReducer(Operator.EQUALS, new ComparisonFunctionReducer(Objects::equals))
-            .operatorReducer(Operator.AND, new LogicalFunctionReducer(false, true, LogicalOperation::uncheckedConjunction))
-            .operatorReducer(Operator.OR, new LogicalFunctionReducer(true, false,  LogicalOperation::uncheckedDisjunction))
+    private static final FunctionReducer<Boolean> CONJUNCTION_REDUCER = new RangeConjunctionReducer(
+            new LogicalFunctionReducer(false, true, LogicalOperation::uncheckedFlatConjunction));
+
+    private static final FunctionReducer<Boolean> DISJUNCTION_REDUCER = new RangeDisjunctionReducer(
+            new EqualityDisjunctionReducer(
+                    new LogicalFunctionReducer(true, false, LogicalOperation::uncheckedFlatDisjunction)));
+
+    public static final ThunkReducerVisitor DEFAULT_INSTANCE = ThunkReducerVisitor.builder()
+            .operatorReducer(Operator.EQUALS, new ComparisonFunctionReducer(ScalarComparison::areEqual))
+            .operatorReducer(Operator.NOT_EQUAL_TO, new ComparisonFunctionReducer((left, right) -> !ScalarComparison.areEqual(left, right)))
+            .operatorReducer(Operator.GREATER_THAN, new OrderingFunctionReducer(order -> order > 0))
+            .operatorReducer(Operator.GREATER_THAN_OR_EQUAL_TO, new OrderingFunctionReducer(order -> order >= 0))
+            .operatorReducer(Operator.LESS_THAN, new OrderingFunctionReducer(order -> order < 0))
+            .operatorReducer(Operator.LESS_THEN_OR_EQUAL_TO, new OrderingFunctionReducer(order -> order <= 0))
+            .operatorReducer(Operator.NOT, new NegationFunctionReducer())
+            .operatorReducer(Operator.PLUS, new NumericFunctionReducer(ScalarArithmetic::plus))
+            .operatorReducer(Operator.MINUS, new NumericFunctionReducer(ScalarArithmetic::minus))
+            .operatorReducer(Operator.MULTIPLY, new NumericFunctionReducer(ScalarArithmetic::multiply))
+            .operatorReducer(Operator.DIVIDE, new NumericFunctionReducer(ScalarArithmetic::divide))
+            .operatorReducer(Operator.MODULUS, new NumericFunctionReducer(ScalarArithmetic::modulus))
+            .operatorReducer(Operator.AND, CONJUNCTION_REDUCER)
+            .operatorReducer(Operator.OR, new CommonFactorReducer(DISJUNCTION_REDUCER, CONJUNCTION_REDUCER))
+            .operatorReducer(Operator.IN, new SetMembershipReducer())
             .build();
 
     @Singular
@@ -35,14 +57,14 @@ public class ThunkReducerVisitor extends ContextFreeThunkExpressionVisitor<Thunk
 
     @Override
     public ThunkExpression<?> visit(FunctionExpression<?> functionExpression) {
+        return ThunkExpressionTraversal.traverse(functionExpression, this, null);
+    }
+
+    @Override
+    public ThunkExpression<?> rewrite(FunctionExpression<?> functionExpression, Void context) {
         var reducer = operatorReducers.getOrDefault(functionExpression.getOperator(), FunctionReducer.NO_OP);
 
-        return reducer.tryReduce(
-                functionExpression.getTerms()
-                        .stream()
-                        .map(expression -> expression.accept(this, null))
-                        .collect(Collectors.toList())
-        ).orElse((ThunkExpression)functionExpression);
+        return reducer.tryReduce(functionExpression.getTerms()).orElse((ThunkExpression) functionExpression);
     }
 
     @Override
@@ -0,0 +1,206 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.ScalarComparison;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lombok.AllArgsConstructor;
+
+/**
+ * An interval of values, with optional lower and upper bounds that are either inclusive or exclusive.
+ * <p>
+ * The bounds of ranges that are combined must be {@link #isComparable(Scalar) comparable}, and should be
+ * {@link #isOrdered(Scalar) ordered} the same way by the database.
+ */
+@AllArgsConstructor
+final class ValueRange {
+
+    static final ValueRange UNBOUNDED = new ValueRange(null, false, null, false);
+
+    /**
+     * Orders ranges by their lower bound, unbounded first. With the same lower bound, the inclusive bound goes first.
+     */
+    static final Comparator<ValueRange> BY_LOWER_BOUND = (left, right) -> {
+        if (left.lower == null || right.lower == null) {
+            return Boolean.compare(right.lower == null, left.lower == null);
+        }
+        var order = ScalarComparison.compare(left.lower, right.lower);
+        return order != 0 ? order : Boolean.compare(right.lowerInclusive, left.lowerInclusive);
+    };
+
+    private final Scalar<?> lower;
+
+    private final boolean lowerInclusive;
+
+    private final Scalar<?> upper;
+
+    private final boolean upperInclusive;
+
+    /**
+     * @return the range of values that satisfy a comparison with the given operator and value, or {@code null} when
+     * the operator is not an equality or an ordering comparison
+     */
+    static ValueRange of(Operator operator, Scalar<?> value) {
+        switch (operator) {
+            case EQUALS:
+                return new ValueRange(value, true, value, true);
+            case GREATER_THAN:
+                return new ValueRange(value, false, null, false);
+            case GREATER_THAN_OR_EQUAL_TO:
+                return new ValueRange(value, true, null, false);
+            case LESS_THAN:
+                return new ValueRange(null, false, value, false);
+            case LESS_THEN_OR_EQUAL_TO:
+                return new ValueRange(null, false, value, true);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return whether the value is ordered the same way here and in the database: numbers and timestamps are, while
+     * strings are ordered by the collation of the database, which may differ from their code point order
+     */
+    static boolean isOrdered(Scalar<?> value) {
+        return ScalarComparison.isNumber(value) || value.getValue() instanceof Instant;
+    }
+
+    boolean isComparable(Scalar<?> value) {
+        return (this.lower == null || ScalarComparison.isComparable(this.lower, value))
+                && (this.upper == null || ScalarComparison.isComparable(this.upper, value));
+    }
+
+    boolean isComparable(ValueRange other) {
+        return (other.lower == null || this.isComparable(other.lower))
+                && (other.upper == null || this.isComparable(other.upper));
+    }
+
+    boolean isEmpty() {
+        if (this.lower == null || this.upper == null) {
+            return false;
+        }
+        var order = ScalarComparison.compare(this.lower, this.upper);
+        return order > 0 || (order == 0 && !(this.lowerInclusive && this.upperInclusive));
+    }
+
+    boolean isPoint() {
+        return this.lower != null && this.upper != null && this.lowerInclusive && this.upperInclusive
+                && ScalarComparison.compare(this.lower, this.upper) == 0;
+    }
+
+    boolean isUnbounded() {
+        return this.lower == null && this.upper == null;
+    }
+
+    Scalar<?> getLower() {
+        return this.lower;
+    }
+
+    boolean contains(Scalar<?> value) {
+        if (this.lower != null) {
+            var order = ScalarComparison.compare(value, this.lower);
+            if (order < 0 || (order == 0 && !this.lowerInclusive)) {
+                return false;
+            }
+        }
+        if (this.upper != null) {
+            var order = ScalarComparison.compare(value, this.upper);
+            return order < 0 || (order == 0 && this.upperInclusive);
+        }
+        return true;
+    }
+
+    /**
+     * @return the values that are in both ranges
+     */
+    ValueRange intersect(ValueRange other) {
+        Scalar<?> lower = this.lower;
+        boolean lowerInclusive = this.lowerInclusive;
+        if (lower == null || (other.lower != null && ScalarComparison.compare(other.lower, lower) > 0)) {
+            lower = other.lower;
+            lowerInclusive = other.lowerInclusive;
+        } else if (other.lower != null && ScalarComparison.compare(other.lower, lower) == 0) {
+            lowerInclusive &= other.lowerInclusive;
+        }
+
+        Scalar<?> upper = this.upper;
+        boolean upperInclusive = this.upperInclusive;
+        if (upper == null || (other.upper != null && ScalarComparison.compare(other.upper, upper) < 0)) {
+            upper = other.upper;
+            upperInclusive = other.upperInclusive;
+        } else if (other.upper != null && ScalarComparison.compare(other.upper, upper) == 0) {
+            upperInclusive &= other.upperInclusive;
+        }
+
+        return new ValueRange(lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    /**
+     * @return whether the union of both ranges is a single range, because they overlap or are adjacent
+     */
+    boolean isConnected(ValueRange other) {
+        return !this.intersect(other).isEmpty()
+                || isAdjacent(this.upper, this.upperInclusive, other.lower, other.lowerInclusive)
+                || isAdjacent(other.upper, other.upperInclusive, this.lower, this.lowerInclusive);
+    }
+
+    private static boolean isAdjacent(Scalar<?> upper, boolean upperInclusive, Scalar<?> lower,
+            boolean lowerInclusive) {
+        return upper != null && lower != null && (upperInclusive || lowerInclusive)
+                && ScalarComparison.compare(upper, lower) == 0;
+    }
+
+    /**
+     * @return the smallest range that contains both ranges, which is their union when they are
+     * {@link #isConnected(ValueRange) connected}
+     */
+    ValueRange span(ValueRange other) {
+        Scalar<?> lower = null;
+        boolean lowerInclusive = false;
+        if (this.lower != null && other.lower != null) {
+            var order = ScalarComparison.compare(this.lower, other.lower);
+            lower = order <= 0 ? this.lower : other.lower;
+            lowerInclusive = order < 0 ? this.lowerInclusive
+                    : order > 0 ? other.lowerInclusive : this.lowerInclusive || other.lowerInclusive;
+        }
+
+        Scalar<?> upper = null;
+        boolean upperInclusive = false;
+        if (this.upper != null && other.upper != null) {
+            var order = ScalarComparison.compare(this.upper, other.upper);
+            upper = order >= 0 ? this.upper : other.upper;
+            upperInclusive = order > 0 ? this.upperInclusive
+                    : order < 0 ? other.upperInclusive : this.upperInclusive || other.upperInclusive;
+        }
+
+        return new ValueRange(lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    /**
+     * @return the comparisons of the reference that express this range
+     */
+    List<ThunkExpression<?>> toTerms(SymbolicReference reference) {
+        if (this.isPoint()) {
+            return List.of(Comparison.areEqual(reference, this.lower));
+        }
+
+        var terms = new ArrayList<ThunkExpression<?>>(2);
+        if (this.lower != null) {
+            terms.add(this.lowerInclusive
+                    ? Comparison.greaterOrEquals(reference, this.lower)
+                    : Comparison.greater(reference, this.lower));
+        }
+        if (this.upper != null) {
+            terms.add(this.upperInclusive
+                    ? Comparison.lessOrEquals(reference, this.upper)
+                    : Comparison.less(reference, this.upper));
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,113 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent cache that is bounded by the total weight of its entries.
+ * <p>
+ * Lookups do not lock. When the total weight exceeds the maximum, entries are evicted with the CLOCK algorithm, an
+ * approximation of least-recently-used eviction: entries are visited in insertion order, an entry that was read since
+ * its previous visit gets a second chance and goes to the back of the queue, other entries are evicted. Only one
+ * thread evicts at a time, the others do not wait for it, so the total weight can briefly exceed the maximum.
+ */
+final class WeightedCache<K, V> {
+
+    private final long maxWeight;
+
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong weight = new AtomicLong();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    WeightedCache(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException(String.format("Maximum weight must be positive, but was %d", maxWeight));
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * @return the cached value, or {@code null} when the key is not cached
+     */
+    V get(K key) {
+        var entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.referenced) {
+            // only write when the flag changes, to keep lookups of hot entries read-only
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Caches a value, unless the key is already cached or the entry on its own is heavier than the maximum weight.
+     */
+    void put(K key, V value, long weight) {
+        if (weight > this.maxWeight) {
+            return;
+        }
+        var entry = new Entry<>(key, value, weight);
+        if (this.entries.putIfAbsent(key, entry) != null) {
+            return;
+        }
+        this.clock.offer(entry);
+        if (this.weight.addAndGet(weight) > this.maxWeight) {
+            this.evict();
+        }
+    }
+
+    private void evict() {
+        if (!this.evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (this.weight.get() > this.maxWeight) {
+                var entry = this.clock.poll();
+                if (entry == null) {
+                    return;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    this.clock.offer(entry);
+                } else if (this.entries.remove(entry.key, entry)) {
+                    this.weight.addAndGet(-entry.weight);
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    int size() {
+        return this.entries.size();
+    }
+
+    long weight() {
+        return this.weight.get();
+    }
+
+    private static final class Entry<K, V> {
+
+        private final K key;
+
+        private final V value;
+
+        private final long weight;
+
+        private volatile boolean referenced;
+
+        Entry(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.ScalarComparison;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MemoizingThunkReducerTest {
+
+    private final AtomicInteger reductions = new AtomicInteger();
+
+    private final FunctionReducer<Boolean> equals = new ComparisonFunctionReducer(ScalarComparison::areEqual);
+
+    private final FunctionReducer<Boolean> countingEquals = values -> {
+        reductions.incrementAndGet();
+        return equals.tryReduce(values);
+    };
+
+    private final ThunkReducerVisitor countingReducer = ThunkReducerVisitor.builder()
+            .operatorReducer(Operator.EQUALS, countingEquals)
+            .operatorReducer(Operator.AND, new LogicalFunctionReducer(false, true, LogicalOperation::uncheckedFlatConjunction))
+            .build();
+
+    private static ThunkExpression<Boolean> residual(String owner) {
+        // 5 == 5 AND entity.owner == owner
+        return LogicalOperation.conjunction(
+                Comparison.areEqual(Scalar.of(5), Scalar.of(5)),
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of(owner))
+        );
+    }
+
+    @Test
+    void reduce_returnsSameResultAsReducer() {
+        var memoizing = new MemoizingThunkReducer(ThunkReducerVisitor.DEFAULT_INSTANCE, 1000);
+        var expression = residual("alice");
+
+        assertThat(memoizing.reduce(expression)).isEqualTo(expression.accept(ThunkReducerVisitor.DEFAULT_INSTANCE, null));
+        assertThat(memoizing.reduce(expression)).isEqualTo(expression.accept(ThunkReducerVisitor.DEFAULT_INSTANCE, null));
+    }
+
+    @Test
+    void equalExpression_isNotReducedAgain() {
+        var memoizing = new MemoizingThunkReducer(countingReducer, 1000);
+
+        var first = memoizing.reduce(residual("alice"));
+        var count = reductions.get();
+        var second = memoizing.reduce(residual("alice"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(reductions.get()).isEqualTo(count);
+    }
+
+    @Test
+    void sharedSubtree_isNotReducedAgain() {
+        var memoizing = new MemoizingThunkReducer(countingReducer, 1000);
+
+        memoizing.reduce(residual("alice"));
+        assertThat(reductions.get()).isEqualTo(2);
+
+        // only the comparison with 'bob' is new
+        var result = memoizing.reduce(residual("bob"));
+        assertThat(reductions.get()).isEqualTo(3);
+        assertThat(result).isEqualTo(Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("bob")));
+    }
+
+    @Test
+    void cache_isBoundedByWeight() {
+        var memoizing = new MemoizingThunkReducer(countingReducer, 10);
+
+        for (int i = 0; i < 100; i++) {
+            memoizing.reduce(residual("user" + i));
+        }
+
+        // the cached subtrees have at least 3 nodes each
+        assertThat(memoizing.cacheSize()).isLessThanOrEqualTo(3);
+        assertThat(memoizing.reduce(residual("user99"))).isEqualTo(
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("user99")));
+    }
+
+    @Test
+    void leaf_isReturnedAsIs() {
+        var memoizing = new MemoizingThunkReducer(ThunkReducerVisitor.DEFAULT_INSTANCE, 1000);
+        var reference = SymbolicReference.parse("entity.owner");
+
+        assertThat(memoizing.reduce(reference)).isSameAs(reference);
+    }
+
+    @Test
+    void instances_doNotShareCache() {
+        var first = new MemoizingThunkReducer();
+        var second = new MemoizingThunkReducer();
+
+        first.reduce(residual("alice"));
+
+        assertThat(first.cacheSize()).isPositive();
+        assertThat(second.cacheSize()).isZero();
+    }
+
+    @Test
+    void nonPositiveWeight_isRejected() {
+        assertThatThrownBy(() -> new MemoizingThunkReducer(ThunkReducerVisitor.DEFAULT_INSTANCE, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SetMembership;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import org.junit.jupiter.api.Test;
+
+class ThunkExpressionCanonicalizerTest {
+
+    @Test
+    void comparison_referenceFirst() {
+        var owner = SymbolicReference.parse("entity.owner");
+        var level = SymbolicReference.parse("entity.level");
+
+        assertThat(ThunkExpressionCanonicalizer.canonicalize(Comparison.areEqual(Scalar.of("u1"), owner)))
+                .isEqualTo(Comparison.areEqual(owner, Scalar.of("u1")));
+        assertThat(ThunkExpressionCanonicalizer.canonicalize(Comparison.less(Scalar.of(5), level)))
+                .isEqualTo(Comparison.greater(level, Scalar.of(5)));
+        assertThat(ThunkExpressionCanonicalizer.canonicalize(Comparison.greaterOrEquals(Scalar.of(5), level)))
+                .isEqualTo(Comparison.lessOrEquals(level, Scalar.of(5)));
+    }
+
+    @Test
+    void conjunction_termOrderIsIrrelevant() {
+        var owner = Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("u1"));
+        var level = Comparison.less(SymbolicReference.parse("entity.level"), Scalar.of(5));
+        var flipped = Comparison.greater(Scalar.of(5), SymbolicReference.parse("entity.level"));
+
+        var first = ThunkExpressionCanonicalizer.canonicalize(LogicalOperation.conjunction(owner, level));
+        var second = ThunkExpressionCanonicalizer.canonicalize(LogicalOperation.conjunction(flipped, owner));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.getFingerprint()).isEqualTo(second.getFingerprint());
+    }
+
+    @Test
+    void duplicatesAndNesting_areRemoved() {
+        var owner = Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("u1"));
+        var ownerFlipped = Comparison.areEqual(Scalar.of("u1"), SymbolicReference.parse("entity.owner"));
+        var level = Comparison.less(SymbolicReference.parse("entity.level"), Scalar.of(5));
+
+        var result = ThunkExpressionCanonicalizer.canonicalize(
+                LogicalOperation.disjunction(owner, LogicalOperation.disjunction(level, ownerFlipped)));
+
+        assertThat(result).isEqualTo(ThunkExpressionCanonicalizer.canonicalize(LogicalOperation.disjunction(level, owner)));
+        assertThat(((LogicalOperation) result).getTerms()).hasSize(2);
+
+        assertThat(ThunkExpressionCanonicalizer.canonicalize(LogicalOperation.conjunction(owner, ownerFlipped)))
+                .isEqualTo(owner);
+    }
+
+    @Test
+    void membership_valueOrderIsIrrelevant() {
+        var department = SymbolicReference.parse("entity.department");
+
+        var first = ThunkExpressionCanonicalizer.canonicalize(
+                SetMembership.in(department, Scalar.of("HR"), Scalar.of("IT"), Scalar.of("Sales")));
+        var second = ThunkExpressionCanonicalizer.canonicalize(
+                SetMembership.in(department, Scalar.of("Sales"), Scalar.of("HR"), Scalar.of("IT"), Scalar.of("HR")));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(((SetMembership) first).getValues()).hasSize(3);
+    }
+
+    @Test
+    void canonicalExpression_returnsSameInstance() {
+        var expression = ThunkExpressionCanonicalizer.canonicalize(LogicalOperation.conjunction(
+                Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("u1")),
+                Comparison.less(SymbolicReference.parse("entity.level"), Scalar.of(5))
+        ));
+
+        assertThat(ThunkExpressionCanonicalizer.canonicalize(expression)).isSameAs(expression);
+    }
+}
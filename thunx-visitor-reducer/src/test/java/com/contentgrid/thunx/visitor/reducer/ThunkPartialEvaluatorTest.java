@@ -0,0 +1,93 @@
+package com.contentgrid.thunx.visitor.reducer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.NumericFunction;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.Variable;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ThunkPartialEvaluatorTest {
+
+    private final SymbolicReference owner = SymbolicReference.parse("entity.owner");
+    private final SymbolicReference level = SymbolicReference.parse("entity.level");
+
+    // entity.owner == 'alice' OR entity.level > 3
+    private final LogicalOperation predicate = LogicalOperation.disjunction(
+            Comparison.areEqual(owner, Scalar.of("alice")),
+            Comparison.greater(level, Scalar.of(3))
+    );
+
+    @Test
+    void boundReferences_areSubstitutedAndFolded() {
+        var bindings = Bindings.EMPTY.with("entity.owner", Scalar.of("bob"));
+
+        assertThat(ThunkPartialEvaluator.DEFAULT_INSTANCE.evaluate(predicate, bindings))
+                .isEqualTo(Comparison.greater(level, Scalar.of(3)));
+    }
+
+    @Test
+    void allReferencesBound_evaluatesPredicate() {
+        var evaluator = ThunkPartialEvaluator.DEFAULT_INSTANCE;
+
+        assertThat(evaluator.test(predicate, Bindings.of(Map.of(owner, Scalar.of("bob"), level, Scalar.of(5)))))
+                .contains(true);
+        assertThat(evaluator.test(predicate, Bindings.of(Map.of(owner, Scalar.of("bob"), level, Scalar.of(2)))))
+                .contains(false);
+    }
+
+    @Test
+    void decidingBinding_isSufficient() {
+        var bindings = Bindings.EMPTY.with(owner, Scalar.of("alice"));
+
+        assertThat(ThunkPartialEvaluator.DEFAULT_INSTANCE.test(predicate, bindings)).contains(true);
+    }
+
+    @Test
+    void unboundReferences_returnSameInstance() {
+        var bindings = Bindings.EMPTY.with("entity.owner.name", Scalar.of("alice"));
+
+        assertThat(ThunkPartialEvaluator.DEFAULT_INSTANCE.evaluate(predicate, bindings)).isSameAs(predicate);
+        assertThat(ThunkPartialEvaluator.DEFAULT_INSTANCE.test(predicate, bindings)).isEmpty();
+    }
+
+    @Test
+    void boundVariable_isSubstituted() {
+        var comparison = Comparison.areEqual(Variable.named("x"), Scalar.of(1));
+
+        var bindings = Bindings.EMPTY.with(Variable.named("x"), Scalar.of(1));
+
+        assertThat(ThunkPartialEvaluator.DEFAULT_INSTANCE.test(comparison, bindings)).contains(true);
+    }
+
+    @Test
+    void arithmetic_isFolded() {
+        // entity.level + 2 > 4
+        var comparison = Comparison.greater(NumericFunction.plus(level, Scalar.of(2)), Scalar.of(4));
+
+        assertThat(ThunkPartialEvaluator.DEFAULT_INSTANCE.test(comparison, Bindings.EMPTY.with(level, Scalar.of(3))))
+                .contains(true);
+    }
+
+    @Test
+    void nullBinding_isRejected() {
+        assertThatThrownBy(() -> Bindings.EMPTY.with(owner, Scalar.nullValue()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Bindings.of(Map.of(owner, Scalar.nullValue())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unboundNullableReference_remainsInResidual() {
+        // entity.owner != 'alice', with an owner that is null
+        var comparison = Comparison.notEqual(owner, Scalar.of("alice"));
+
+        assertThat(ThunkPartialEvaluator.DEFAULT_INSTANCE.evaluate(comparison, Bindings.EMPTY.with(level, Scalar.of(3))))
+                .isSameAs(comparison);
+    }
+}
@@ -3,10 +3,14 @@ package com.contentgrid.thunx.visitor.reducer;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.NumericFunction;
 import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SetMembership;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import com.contentgrid.thunx.predicates.model.Comparison;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Collections;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Nested;
@@ -33,6 +37,15 @@ class ThunkReducerVisitorTest {
             var comparison = Comparison.areEqual(Scalar.of(5), Scalar.of(5));
             Assertions.assertThat(ThunkExpression.maybeValue(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(comparison).assertResultType(Boolean.class))).contains(true);
         }
+
+        @Test
+        void compareEquals_simplify_numerically_equal() {
+            var comparison = Comparison.areEqual(Scalar.of(new BigDecimal("1.0")), Scalar.of(new BigDecimal("1.00")));
+            Assertions.assertThat(ThunkExpression.maybeValue(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(comparison).assertResultType(Boolean.class))).contains(true);
+
+            var mixed = Comparison.areEqual(Scalar.of(5L), Scalar.of(5.0D));
+            Assertions.assertThat(ThunkExpression.maybeValue(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(mixed).assertResultType(Boolean.class))).contains(true);
+        }
     }
 
     @Nested
@@ -125,6 +138,617 @@ class ThunkReducerVisitorTest {
             var resolved = ThunkExpression.maybeValue(simplified.assertResultType(Boolean.class));
             assertThat(resolved).isPresent().contains(true);
         }
+
+        @Test
+        void duplicateTerms_areRemoved() {
+            var a = Comparison.greater(SymbolicReference.of("document.security"), Scalar.of(5));
+            var b = Comparison.startsWith(SymbolicReference.of("document.name"), Scalar.of("x"));
+
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(LogicalOperation.conjunction(a, b, a)))
+                    .isEqualTo(LogicalOperation.conjunction(a, b));
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(
+                    LogicalOperation.disjunction(a, LogicalOperation.disjunction(b, a))))
+                    .isEqualTo(LogicalOperation.disjunction(a, b));
+        }
+
+        @Test
+        void disjunction_absorbsConjunction() {
+            var a = Comparison.greater(SymbolicReference.of("document.security"), Scalar.of(5));
+            var b = Comparison.startsWith(SymbolicReference.of("document.name"), Scalar.of("x"));
+
+            // (a AND b) OR a
+            var disjunction = LogicalOperation.disjunction(LogicalOperation.conjunction(a, b), a);
+
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(disjunction)).isEqualTo(a);
+        }
+
+        @Test
+        void conjunction_absorbsDisjunction() {
+            var a = Comparison.greater(SymbolicReference.of("document.security"), Scalar.of(5));
+            var b = Comparison.startsWith(SymbolicReference.of("document.name"), Scalar.of("x"));
+            var c = Comparison.lessOrEquals(SymbolicReference.of("document.level"), Scalar.of(2));
+
+            // c AND (a OR b) AND (b OR c OR a)
+            var conjunction = LogicalOperation.conjunction(
+                    c,
+                    LogicalOperation.disjunction(a, b),
+                    LogicalOperation.disjunction(b, c, a)
+            );
+
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(conjunction))
+                    .isEqualTo(LogicalOperation.conjunction(c, LogicalOperation.disjunction(a, b)));
+        }
+
+        @Test
+        void equivalentConjunctions_keepFirst() {
+            var a = Comparison.greater(SymbolicReference.of("document.security"), Scalar.of(5));
+            var b = Comparison.startsWith(SymbolicReference.of("document.name"), Scalar.of("x"));
+            var c = Comparison.lessOrEquals(SymbolicReference.of("document.level"), Scalar.of(2));
+
+            // (a AND b) OR (b AND a) OR c
+            var disjunction = LogicalOperation.disjunction(
+                    LogicalOperation.conjunction(a, b),
+                    LogicalOperation.conjunction(b, a),
+                    c
+            );
+
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(disjunction))
+                    .isEqualTo(LogicalOperation.disjunction(LogicalOperation.conjunction(a, b), c));
+        }
+    }
+
+    @Nested
+    class Comparisons {
+
+        private ThunkExpression<?> reduce(ThunkExpression<?> expression) {
+            return expression.accept(ThunkReducerVisitor.DEFAULT_INSTANCE, null);
+        }
+
+        @Test
+        void notEqual() {
+            assertThat(reduce(Comparison.notEqual(Scalar.of(5), Scalar.of(3)))).isEqualTo(Scalar.of(true));
+            assertThat(reduce(Comparison.notEqual(Scalar.of(5L), Scalar.of(5.0D)))).isEqualTo(Scalar.of(false));
+        }
+
+        @Test
+        void ordering_numbers() {
+            assertThat(reduce(Comparison.greater(Scalar.of(3), Scalar.of(2)))).isEqualTo(Scalar.of(true));
+            assertThat(reduce(Comparison.greaterOrEquals(Scalar.of(2), Scalar.of(2.0)))).isEqualTo(Scalar.of(true));
+            assertThat(reduce(Comparison.less(Scalar.of(new BigDecimal("2.5")), Scalar.of(2)))).isEqualTo(Scalar.of(false));
+            assertThat(reduce(Comparison.lessOrEquals(Scalar.of(Long.MAX_VALUE), Scalar.of(0x1p63))))
+                    .isEqualTo(Scalar.of(true));
+        }
+
+        @Test
+        void ordering_stringsAndTimestamps() {
+            assertThat(reduce(Comparison.less(Scalar.of("abc"), Scalar.of("abd")))).isEqualTo(Scalar.of(true));
+            // code point order: a supplementary character sorts after any character of the basic plane
+            assertThat(reduce(Comparison.less(Scalar.of("\uffff"), Scalar.of("\ud83d\ude00")))).isEqualTo(Scalar.of(true));
+            assertThat(reduce(Comparison.greater(Scalar.of(Instant.ofEpochSecond(1)), Scalar.of(Instant.EPOCH))))
+                    .isEqualTo(Scalar.of(true));
+        }
+
+        @Test
+        void ordering_differentTypes_isNotReduced() {
+            var comparison = Comparison.less(Scalar.of(1), Scalar.of("a"));
+
+            assertThat(reduce(comparison)).isSameAs(comparison);
+        }
+
+        @Test
+        void negation() {
+            assertThat(reduce(LogicalOperation.negation(Comparison.greater(Scalar.of(1), Scalar.of(2)))))
+                    .isEqualTo(Scalar.of(true));
+        }
+
+        @Test
+        void residual_isFolded() {
+            // 3 > 2 AND entity.x == 1
+            var expression = LogicalOperation.conjunction(
+                    Comparison.greater(Scalar.of(3), Scalar.of(2)),
+                    Comparison.areEqual(SymbolicReference.parse("entity.x"), Scalar.of(1))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Comparison.areEqual(SymbolicReference.parse("entity.x"), Scalar.of(1)));
+        }
+    }
+
+    @Nested
+    class Numeric {
+
+        private ThunkExpression<?> reduce(ThunkExpression<?> expression) {
+            return expression.accept(ThunkReducerVisitor.DEFAULT_INSTANCE, null);
+        }
+
+        @Test
+        void operators() {
+            assertThat(reduce(NumericFunction.plus(Scalar.of(2), Scalar.of(3)))).isEqualTo(Scalar.of(5));
+            assertThat(reduce(NumericFunction.minus(Scalar.of(2), Scalar.of(3)))).isEqualTo(Scalar.of(-1));
+            assertThat(reduce(NumericFunction.multiply(Scalar.of(2), Scalar.of(5)))).isEqualTo(Scalar.of(10));
+            assertThat(reduce(NumericFunction.divide(Scalar.of(7), Scalar.of(2)))).isEqualTo(Scalar.of(new BigDecimal("3.5")));
+            assertThat(reduce(NumericFunction.modulus(Scalar.of(7), Scalar.of(3)))).isEqualTo(Scalar.of(1));
+        }
+
+        @Test
+        void divisionByZero_isNotReduced() {
+            var division = NumericFunction.divide(Scalar.of(7), Scalar.of(0));
+
+            assertThat(reduce(division)).isSameAs(division);
+        }
+
+        @Test
+        void residual_isFolded() {
+            // 2 * 5 == entity.level
+            var expression = Comparison.areEqual(
+                    NumericFunction.multiply(Scalar.of(2), Scalar.of(5)),
+                    SymbolicReference.parse("entity.level")
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Comparison.areEqual(Scalar.of(10), SymbolicReference.parse("entity.level")));
+        }
+    }
+
+    @Nested
+    class Negation {
+
+        private final SymbolicReference number = SymbolicReference.parse("input.number");
+        private final SymbolicReference str = SymbolicReference.parse("input.str");
+
+        private ThunkExpression<?> reduce(ThunkExpression<?> expression) {
+            return expression.accept(ThunkReducerVisitor.DEFAULT_INSTANCE, null);
+        }
+
+        @Test
+        void negatedComparisons_areComplemented() {
+            assertThat(reduce(LogicalOperation.negation(Comparison.areEqual(number, Scalar.of(1)))))
+                    .isEqualTo(Comparison.notEqual(number, Scalar.of(1)));
+            assertThat(reduce(LogicalOperation.negation(Comparison.notEqual(number, Scalar.of(1)))))
+                    .isEqualTo(Comparison.areEqual(number, Scalar.of(1)));
+            assertThat(reduce(LogicalOperation.negation(Comparison.greater(number, Scalar.of(1)))))
+                    .isEqualTo(Comparison.lessOrEquals(number, Scalar.of(1)));
+            assertThat(reduce(LogicalOperation.negation(Comparison.greaterOrEquals(number, Scalar.of(1)))))
+                    .isEqualTo(Comparison.less(number, Scalar.of(1)));
+            assertThat(reduce(LogicalOperation.negation(Comparison.less(number, Scalar.of(1)))))
+                    .isEqualTo(Comparison.greaterOrEquals(number, Scalar.of(1)));
+            assertThat(reduce(LogicalOperation.negation(Comparison.lessOrEquals(number, Scalar.of(1)))))
+                    .isEqualTo(Comparison.greater(number, Scalar.of(1)));
+        }
+
+        @Test
+        void doubleNegation_isRemoved() {
+            var rule = Comparison.startsWith(str, Scalar.of("x"));
+
+            assertThat(reduce(LogicalOperation.negation(LogicalOperation.negation(rule)))).isEqualTo(rule);
+        }
+
+        @Test
+        void negatedConjunction_becomesDisjunction() {
+            // NOT (input.number > 1 AND NOT input.str startswith "x")
+            var expression = LogicalOperation.negation(LogicalOperation.conjunction(
+                    Comparison.greater(number, Scalar.of(1)),
+                    LogicalOperation.negation(Comparison.startsWith(str, Scalar.of("x")))
+            ));
+
+            assertThat(reduce(expression)).isEqualTo(LogicalOperation.disjunction(
+                    Comparison.lessOrEquals(number, Scalar.of(1)),
+                    Comparison.startsWith(str, Scalar.of("x"))
+            ));
+        }
+
+        @Test
+        void negatedDisjunction_isPushedDownToLeaves() {
+            // NOT (input.number < 1 OR (input.number > 5 AND input.str == "x"))
+            var expression = LogicalOperation.negation(LogicalOperation.disjunction(
+                    Comparison.less(number, Scalar.of(1)),
+                    LogicalOperation.conjunction(
+                            Comparison.greater(number, Scalar.of(5)),
+                            Comparison.areEqual(str, Scalar.of("x"))
+                    )
+            ));
+
+            assertThat(reduce(expression)).isEqualTo(LogicalOperation.conjunction(
+                    Comparison.greaterOrEquals(number, Scalar.of(1)),
+                    LogicalOperation.disjunction(
+                            Comparison.lessOrEquals(number, Scalar.of(5)),
+                            Comparison.notEqual(str, Scalar.of("x"))
+                    )
+            ));
+        }
+
+        @Test
+        void negatedMembership_remainsNegated() {
+            var expression = LogicalOperation.negation(SetMembership.in(number, Scalar.of(1), Scalar.of(2)));
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+
+        @Test
+        void negatedPathVariable_remainsNegated() {
+            // NOT(entity.tags.$x == 'secret'): no tag is secret, which is not the same as: some tag is not secret
+            var tag = SymbolicReference.of("entity", path -> path.string("tags").var("x"));
+            var expression = LogicalOperation.negation(LogicalOperation.conjunction(
+                    Comparison.areEqual(tag, Scalar.of("secret")),
+                    Comparison.greater(number, Scalar.of(1))
+            ));
+
+            assertThat(reduce(expression)).isSameAs(expression);
+            assertThat(reduce(LogicalOperation.negation(Comparison.areEqual(tag, Scalar.of("secret")))))
+                    .isEqualTo(LogicalOperation.negation(Comparison.areEqual(tag, Scalar.of("secret"))));
+        }
+
+        @Test
+        void doubleNegationOfPathVariable_isRemoved() {
+            var rule = Comparison.areEqual(SymbolicReference.of("entity", path -> path.string("tags").var("x")),
+                    Scalar.of("secret"));
+
+            assertThat(reduce(LogicalOperation.negation(LogicalOperation.negation(rule)))).isEqualTo(rule);
+        }
+
+        @Test
+        void negatedReference_remainsNegated() {
+            var expression = LogicalOperation.uncheckedNegation(Collections.singletonList(str));
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+    }
+
+    @Nested
+    class Ranges {
+
+        private final SymbolicReference level = SymbolicReference.parse("entity.level");
+        private final SymbolicReference owner = SymbolicReference.parse("entity.owner");
+        private final SymbolicReference name = SymbolicReference.parse("entity.name");
+
+        private ThunkExpression<?> reduce(ThunkExpression<?> expression) {
+            return expression.accept(ThunkReducerVisitor.DEFAULT_INSTANCE, null);
+        }
+
+        @Test
+        void disjointRanges_areUnsatisfiable() {
+            var expression = LogicalOperation.conjunction(
+                    Comparison.greater(level, Scalar.of(5)),
+                    Comparison.greater(Scalar.of(3), level)
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Scalar.of(false));
+        }
+
+        @Test
+        void differentEqualities_areUnsatisfiable() {
+            var expression = LogicalOperation.conjunction(
+                    Comparison.areEqual(level, Scalar.of(1)),
+                    Comparison.areEqual(Scalar.of(2), level)
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Scalar.of(false));
+        }
+
+        @Test
+        void stringEqualities_areNotIntersected() {
+            // the database may compare strings case-insensitively
+            var expression = LogicalOperation.conjunction(
+                    Comparison.notEqual(owner, Scalar.of("A")),
+                    Comparison.areEqual(owner, Scalar.of("a"))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(expression);
+        }
+
+        @Test
+        void excludedPoint_isUnsatisfiable() {
+            var expression = LogicalOperation.conjunction(
+                    Comparison.greaterOrEquals(level, Scalar.of(3)),
+                    Comparison.lessOrEquals(level, Scalar.of(3)),
+                    Comparison.notEqual(level, Scalar.of(3))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Scalar.of(false));
+        }
+
+        @Test
+        void conjunction_keepsTightestBounds() {
+            var expression = LogicalOperation.conjunction(
+                    Comparison.greater(level, Scalar.of(1)),
+                    Comparison.greaterOrEquals(level, Scalar.of(3)),
+                    Comparison.less(level, Scalar.of(5)),
+                    Comparison.startsWith(name, Scalar.of("x"))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(LogicalOperation.conjunction(
+                    Comparison.greaterOrEquals(level, Scalar.of(3)),
+                    Comparison.less(level, Scalar.of(5)),
+                    Comparison.startsWith(name, Scalar.of("x"))
+            ));
+        }
+
+        @Test
+        void conjunction_filtersMembership() {
+            var expression = LogicalOperation.conjunction(
+                    SetMembership.in(level, Scalar.of(1), Scalar.of(2), Scalar.of(3)),
+                    Comparison.notEqual(level, Scalar.of(1)),
+                    Comparison.less(level, Scalar.of(3))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Comparison.areEqual(level, Scalar.of(2)));
+        }
+
+        @Test
+        void conjunction_dropsImpliedExclusion() {
+            var expression = LogicalOperation.conjunction(
+                    Comparison.greater(level, Scalar.of(3)),
+                    Comparison.notEqual(level, Scalar.of(1))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Comparison.greater(level, Scalar.of(3)));
+        }
+
+        @Test
+        void satisfiableRange_isNotChanged() {
+            var expression = LogicalOperation.conjunction(
+                    Comparison.greater(level, Scalar.of(3)),
+                    Comparison.less(level, Scalar.of(5))
+            );
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+
+        @Test
+        void incomparableValues_areNotChanged() {
+            var expression = LogicalOperation.conjunction(
+                    Comparison.greater(level, Scalar.of(3)),
+                    Comparison.areEqual(level, Scalar.of("a"))
+            );
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+
+        @Test
+        void stringRange_isNotChanged() {
+            // the database collation might order 'a' before 'B'
+            var expression = LogicalOperation.conjunction(
+                    Comparison.greaterOrEquals(name, Scalar.of("a")),
+                    Comparison.less(name, Scalar.of("B"))
+            );
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+
+        @Test
+        void stringRanges_areNotMerged() {
+            var expression = LogicalOperation.disjunction(
+                    Comparison.less(name, Scalar.of("m")),
+                    Comparison.areEqual(name, Scalar.of("m"))
+            );
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+
+        @Test
+        void stringMembership_isNotIntersected() {
+            var expression = LogicalOperation.conjunction(
+                    SetMembership.in(owner, Scalar.of("a"), Scalar.of("b")),
+                    Comparison.notEqual(owner, Scalar.of("a"))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(expression);
+        }
+
+        @Test
+        void numberMembership_isIntersected() {
+            var expression = LogicalOperation.conjunction(
+                    SetMembership.in(level, Scalar.of(1), Scalar.of(2)),
+                    Comparison.notEqual(level, Scalar.of(1))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Comparison.areEqual(level, Scalar.of(2)));
+        }
+
+        @Test
+        void adjacentRanges_areMerged() {
+            // (entity.level >= 1 AND entity.level < 5) OR (entity.level >= 5 AND entity.level < 10)
+            var expression = LogicalOperation.disjunction(
+                    LogicalOperation.conjunction(
+                            Comparison.greaterOrEquals(level, Scalar.of(1)),
+                            Comparison.less(level, Scalar.of(5))
+                    ),
+                    LogicalOperation.conjunction(
+                            Comparison.greaterOrEquals(level, Scalar.of(5)),
+                            Comparison.less(level, Scalar.of(10))
+                    )
+            );
+
+            assertThat(reduce(expression)).isEqualTo(LogicalOperation.conjunction(
+                    Comparison.greaterOrEquals(level, Scalar.of(1)),
+                    Comparison.less(level, Scalar.of(10))
+            ));
+        }
+
+        @Test
+        void pointAdjacentToRange_isMerged() {
+            var expression = LogicalOperation.disjunction(
+                    Comparison.less(level, Scalar.of(3)),
+                    Comparison.areEqual(level, Scalar.of(3))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(Comparison.lessOrEquals(level, Scalar.of(3)));
+        }
+
+        @Test
+        void overlappingRanges_areMerged() {
+            var expression = LogicalOperation.disjunction(
+                    Comparison.less(level, Scalar.of(3)),
+                    Comparison.less(level, Scalar.of(5)),
+                    Comparison.startsWith(name, Scalar.of("x"))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(LogicalOperation.disjunction(
+                    Comparison.less(level, Scalar.of(5)),
+                    Comparison.startsWith(name, Scalar.of("x"))
+            ));
+        }
+
+        @Test
+        void rangesCoveringAllValues_areNotChanged() {
+            // not a tautology: it does not hold when entity.level is null
+            var expression = LogicalOperation.disjunction(
+                    Comparison.less(level, Scalar.of(5)),
+                    Comparison.greaterOrEquals(level, Scalar.of(3))
+            );
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+
+        @Test
+        void rangesWithGap_areNotChanged() {
+            var expression = LogicalOperation.disjunction(
+                    Comparison.less(level, Scalar.of(5)),
+                    Comparison.greater(level, Scalar.of(5))
+            );
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+    }
+
+    @Nested
+    class Factoring {
+
+        private final ThunkExpression<Boolean> tenant = Comparison.areEqual(SymbolicReference.parse("entity.tenant"), Scalar.of("X"));
+        private final ThunkExpression<Boolean> a = Comparison.startsWith(SymbolicReference.parse("entity.name"), Scalar.of("a"));
+        private final ThunkExpression<Boolean> b = Comparison.greater(SymbolicReference.parse("entity.level"), Scalar.of(3));
+        private final ThunkExpression<Boolean> c = Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("alice"));
+
+        private ThunkExpression<?> reduce(ThunkExpression<?> expression) {
+            return expression.accept(ThunkReducerVisitor.DEFAULT_INSTANCE, null);
+        }
+
+        @Test
+        void commonConjunct_isHoisted() {
+            // (tenant AND a) OR (b AND tenant) OR (tenant AND c)
+            var expression = LogicalOperation.disjunction(
+                    LogicalOperation.conjunction(tenant, a),
+                    LogicalOperation.conjunction(b, tenant),
+                    LogicalOperation.conjunction(tenant, c)
+            );
+
+            assertThat(reduce(expression))
+                    .isEqualTo(LogicalOperation.conjunction(tenant, LogicalOperation.disjunction(a, b, c)));
+        }
+
+        @Test
+        void remainders_keepTheirConjunctions() {
+            // (tenant AND a AND b) OR (tenant AND c)
+            var expression = LogicalOperation.disjunction(
+                    LogicalOperation.conjunction(tenant, a, b),
+                    LogicalOperation.conjunction(tenant, c)
+            );
+
+            assertThat(reduce(expression)).isEqualTo(LogicalOperation.conjunction(
+                    tenant,
+                    LogicalOperation.disjunction(LogicalOperation.conjunction(a, b), c)
+            ));
+        }
+
+        @Test
+        void remainders_areReduced() {
+            var owner = SymbolicReference.parse("entity.owner");
+            // (tenant AND owner == "a") OR (tenant AND owner == "b")
+            var expression = LogicalOperation.disjunction(
+                    LogicalOperation.conjunction(tenant, Comparison.areEqual(owner, Scalar.of("a"))),
+                    LogicalOperation.conjunction(tenant, Comparison.areEqual(owner, Scalar.of("b")))
+            );
+
+            assertThat(reduce(expression)).isEqualTo(LogicalOperation.conjunction(
+                    tenant,
+                    SetMembership.in(owner, Scalar.of("a"), Scalar.of("b"))
+            ));
+        }
+
+        @Test
+        void withoutCommonConjuncts_isNotChanged() {
+            var expression = LogicalOperation.disjunction(
+                    LogicalOperation.conjunction(tenant, a),
+                    LogicalOperation.conjunction(b, c)
+            );
+
+            assertThat(reduce(expression)).isSameAs(expression);
+        }
+    }
+
+    @Nested
+    class Membership {
+
+        private final SymbolicReference department = SymbolicReference.parse("entity.department");
+
+        @Test
+        void disjunctionOfEqualities_collapsesIntoMembership() {
+            // entity.department == 'HR' OR 'Sales' == entity.department OR entity.owner == 'u1' OR entity.department == 'IT'
+            var owner = Comparison.areEqual(SymbolicReference.parse("entity.owner"), Scalar.of("u1"));
+            var expression = LogicalOperation.disjunction(
+                    Comparison.areEqual(department, Scalar.of("HR")),
+                    Comparison.areEqual(Scalar.of("Sales"), department),
+                    owner,
+                    Comparison.areEqual(department, Scalar.of("IT"))
+            );
+
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(expression)).isEqualTo(LogicalOperation.disjunction(
+                    SetMembership.in(department, Scalar.of("HR"), Scalar.of("Sales"), Scalar.of("IT")),
+                    owner
+            ));
+        }
+
+        @Test
+        void disjunctionOfMemberships_isMerged() {
+            var expression = LogicalOperation.disjunction(
+                    SetMembership.in(department, Scalar.of("HR"), Scalar.of("Sales")),
+                    LogicalOperation.disjunction(
+                            Comparison.areEqual(department, Scalar.of("IT")),
+                            Comparison.areEqual(department, Scalar.of("HR"))
+                    )
+            );
+
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(expression))
+                    .isEqualTo(SetMembership.in(department, Scalar.of("HR"), Scalar.of("Sales"), Scalar.of("IT")));
+        }
+
+        @Test
+        void equalityWithNull_isNotCollapsed() {
+            var expression = LogicalOperation.disjunction(
+                    Comparison.areEqual(department, Scalar.nullValue()),
+                    Comparison.areEqual(department, Scalar.of("HR"))
+            );
+
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(expression)).isSameAs(expression);
+        }
+
+        @Test
+        void scalarMembership_isEvaluated() {
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(SetMembership.in(Scalar.of(5), Scalar.of(3), Scalar.of(5.0))))
+                    .isEqualTo(Scalar.of(true));
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(SetMembership.in(Scalar.of(5), Scalar.of(3), Scalar.of(4))))
+                    .isEqualTo(Scalar.of(false));
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(SetMembership.in(Scalar.of("HR"), Scalar.of("IT"), department)))
+                    .isEqualTo(Comparison.areEqual(Scalar.of("HR"), department));
+        }
+
+        @Test
+        void membershipWithNull_isNotEvaluated() {
+            var nullMembership = SetMembership.in(Scalar.nullValue(), Scalar.nullValue());
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(nullMembership)).isSameAs(nullMembership);
+
+            var nullMember = SetMembership.in(Scalar.of("HR"), Scalar.of("IT"), Scalar.nullValue());
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(nullMember)).isSameAs(nullMember);
+
+            var nullTerm = SetMembership.in(Scalar.nullValue(), Scalar.of("IT"), Scalar.of("HR"));
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(nullTerm)).isSameAs(nullTerm);
+        }
+
+        @Test
+        void duplicateMembers_areRemoved() {
+            var expression = SetMembership.in(department, Scalar.of("HR"), Scalar.of("IT"), Scalar.of("HR"));
+
+            assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(expression))
+                    .isEqualTo(SetMembership.in(department, Scalar.of("HR"), Scalar.of("IT")));
+        }
     }
 
     @Test
@@ -158,17 +782,12 @@ class ThunkReducerVisitorTest {
                 LogicalOperation.conjunction(Collections.emptyList())
         );
 
-        // This simplifies to: (input.number == 1 OR input.number == 3) AND input.str == "x"
+        // This simplifies to: input.number IN (1, 3) AND input.str == "x"
         var simplified = LogicalOperation.conjunction(
-                LogicalOperation.disjunction(
-                        Comparison.areEqual(
-                                SymbolicReference.parse("input.number"),
-                                Scalar.of(1)
-                        ),
-                        Comparison.areEqual(
-                                SymbolicReference.parse("input.number"),
-                                Scalar.of(3)
-                        )
+                SetMembership.in(
+                        SymbolicReference.parse("input.number"),
+                        Scalar.of(1),
+                        Scalar.of(3)
                 ),
                 Comparison.areEqual(
                         SymbolicReference.parse("input.str"),
@@ -181,4 +800,40 @@ class ThunkReducerVisitorTest {
 
         assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(simplified)).isEqualTo(simplified);
     }
-}
\ No newline at end of file
+
+    @Test
+    void irreducibleExpression_returnsSameInstance() {
+        var expression = LogicalOperation.disjunction(
+                Comparison.areEqual(SymbolicReference.parse("input.number"), Scalar.of(1)),
+                LogicalOperation.negation(Comparison.startsWith(SymbolicReference.parse("input.str"), Scalar.of("x")))
+        );
+
+        assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(expression)).isSameAs(expression);
+    }
+
+    @Test
+    void termsOfIrreducibleFunction_areReduced() {
+        var rule = Comparison.startsWith(SymbolicReference.parse("input.str"), Scalar.of("x"));
+        var expression = LogicalOperation.negation(
+                LogicalOperation.conjunction(Comparison.areEqual(Scalar.of(5), Scalar.of(5)), rule));
+
+        assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(expression))
+                .isEqualTo(LogicalOperation.negation(rule));
+    }
+
+    @Test
+    void nestedLogicalOperations_areFlattened() {
+        var rule1 = Comparison.areEqual(SymbolicReference.parse("input.number"), Scalar.of(1));
+        var rule2 = Comparison.areEqual(SymbolicReference.parse("input.level"), Scalar.of(3));
+        var rule3 = Comparison.areEqual(SymbolicReference.parse("input.str"), Scalar.of("x"));
+
+        // input.number == 1 AND (input.level == 3 AND (input.str == "x" AND TRUE))
+        var expression = LogicalOperation.conjunction(
+                rule1,
+                LogicalOperation.conjunction(rule2, LogicalOperation.conjunction(rule3, Scalar.of(true)))
+        );
+
+        assertThat(ThunkReducerVisitor.DEFAULT_INSTANCE.visit(expression))
+                .isEqualTo(LogicalOperation.conjunction(rule1, rule2, rule3));
+    }
+}